@@ -2,17 +2,23 @@ package com.battle_royale.game;
 
 
 import com.battle_royale.network.GamePacket;
+import com.battle_royale.network.MapManifest;
+import com.battle_royale.network.PacketCodec;
 import com.battle_royale.network.PacketType;
+import com.battle_royale.network.Snapshot;
+import com.battle_royale.network.SnapshotDelta;
+import com.battle_royale.network.SnapshotHistory;
 import com.battle_royale.model.Obstacle;
 import com.battle_royale.model.Player;
-import com.battle_royale.model.Projectile;
 import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.Helper;
+import com.battle_royale.utils.TimerWheel;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.effect.DropShadow;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.*;
@@ -21,26 +27,32 @@ import javafx.stage.Stage;
 import java.io.*;
 import java.net.Socket;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
 
 public class GameClient extends Application {
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
-    private GameState gameState;
+    private DataOutputStream out;
+    private DataInputStream in;
+    private Snapshot gameState;
+    private final SnapshotHistory snapshotHistory = new SnapshotHistory(SNAPSHOT_HISTORY_SIZE);
     private Canvas canvas;
     private GraphicsContext gc;
     private boolean isRunning = true;
     private final Object gameStateLock = new Object();
     private Map<KeyCode, Boolean> keyStates = new EnumMap<>(KeyCode.class);
     private Map<Integer, String> playerDeathNotifications = new HashMap<>();
-    private static final long INPUT_THROTTLE_MS = 16;
-    private static final long SHOOTING_THROTTLE_MS = 250;
-    private AtomicLong lastInputTime = new AtomicLong(0);
-    private AtomicLong lastShootingTime = new AtomicLong(0);
+    private static final int SNAPSHOT_HISTORY_SIZE = 64;
     private volatile Player.Input currentInput = new Player.Input();
-    private volatile boolean inputChanged = false;
-    private volatile boolean shootingChanged = false;
+    private int inputSequence;
+    private PlayerPrediction prediction;
+    private InterpolationBuffer interpolation;
+    private static final long DEFAULT_INTERPOLATION_DELAY_MS = 100;
+    private static final long MAX_EXTRAPOLATION_MS = 100;
+    private volatile int lastServerTick;
+    private final MapCache mapCache = new MapCache(MapCache.defaultDirectory());
+    private List<Obstacle> obstacles = List.of();
+    private AnimationTimer renderTimer;
+    private final SpriteCache sprites = new SpriteCache(Constants.GAME_WIDTH, Constants.GAME_HEIGHT);
 
     private static final Color JOIN_NOTIFICATION_COLOR = Color.LIGHTGREEN;
     private static final Color DISCONNECT_NOTIFICATION_COLOR = Color.YELLOW;
@@ -49,6 +61,14 @@ public class GameClient extends Application {
 
     private Map<Integer, NotificationInfo> playerNotifications = new HashMap<>();
     private static final long NOTIFICATION_DISPLAY_TIME = 5000;
+    private static final Font NOTIFICATION_FONT = Font.font(18);
+    // Notification timers run on a local UI clock, which has nothing to do with the server's tick rate.
+    private static final int NOTIFICATION_TIMER_RATE = 60;
+    private static final int NOTIFICATION_DISPLAY_TICKS = (int) (NOTIFICATION_DISPLAY_TIME * NOTIFICATION_TIMER_RATE / 1000);
+    private static final long NOTIFICATION_TIMER_NANOS = 1_000_000_000L / NOTIFICATION_TIMER_RATE;
+    private final TimerWheel notificationTimers = new TimerWheel(512);
+    private final long clockStart = System.nanoTime();
+    private final IntConsumer expireNotification = playerId -> playerNotifications.remove(playerId);
     private int currentPlayerId = -1;
 
 
@@ -56,11 +76,13 @@ public class GameClient extends Application {
         String message;
         Color color;
         long timestamp;
+        int timer;
 
-        NotificationInfo(String message, Color color) {
+        NotificationInfo(String message, Color color, int timer) {
             this.message = message;
             this.color = color;
             this.timestamp = System.currentTimeMillis();
+            this.timer = timer;
         }
     }
 
@@ -82,16 +104,24 @@ public class GameClient extends Application {
         primaryStage.setScene(scene);
         primaryStage.show();
 
-        new Thread(this::gameLoop).start();
+        renderTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                renderFrame();
+            }
+        };
+        renderTimer.start();
         new Thread(this::networkLoop).start();
     }
 
     private void connectToServer() {
         try {
             socket = new Socket("localhost", 5000);
-            out = new ObjectOutputStream(socket.getOutputStream());
-            in = new ObjectInputStream(socket.getInputStream());
-            sendPacket(new GamePacket(PacketType.PLAYER_JOIN, null));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            String requestedMatch = getParameters().getNamed().get("match");
+            sendPacket(new GamePacket(PacketType.PLAYER_JOIN,
+                    requestedMatch != null ? Integer.valueOf(requestedMatch) : null));
         } catch (IOException e) {
             e.printStackTrace();
             System.exit(1);
@@ -103,7 +133,7 @@ public class GameClient extends Application {
             synchronized (keyStates) {
                 if (!keyStates.getOrDefault(event.getCode(), false)) {
                     keyStates.put(event.getCode(), true);
-                    updateAndSendInput();
+                    updateInput();
                 }
             }
         });
@@ -111,12 +141,12 @@ public class GameClient extends Application {
         scene.setOnKeyReleased(event -> {
             synchronized (keyStates) {
                 keyStates.put(event.getCode(), false);
-                updateAndSendInput();
+                updateInput();
             }
         });
     }
 
-    private void updateAndSendInput() {
+    private void updateInput() {
         synchronized (keyStates) {
             Player.Input newInput = new Player.Input();
             newInput.up = keyStates.getOrDefault(KeyCode.W, false);
@@ -124,67 +154,44 @@ public class GameClient extends Application {
             newInput.left = keyStates.getOrDefault(KeyCode.A, false);
             newInput.right = keyStates.getOrDefault(KeyCode.D, false);
             newInput.shooting = keyStates.getOrDefault(KeyCode.SPACE, false);
-
-            if (!newInput.equals(currentInput)) {
-                currentInput = newInput;
-                inputChanged = true;
-            }
-
-            if (newInput.shooting && !currentInput.shooting) {
-                long currentTime = System.currentTimeMillis();
-                long timeSinceLastShoot = currentTime - lastShootingTime.get();
-
-                if (timeSinceLastShoot >= SHOOTING_THROTTLE_MS) {
-                    shootingChanged = true;
-                    lastShootingTime.set(currentTime);
-                } else {
-                    shootingChanged = false;
-                }
-            } else {
-                shootingChanged = false;
-            }
+            currentInput = newInput;
         }
     }
 
-    private void gameLoop() {
-        final int FPS = 60;
-        final long frameTime = 1000 / FPS;
+    private void inputLoop(double tickRate) {
+        // Runs at the server tick rate, independent of the frame rate: the server applies one input per tick.
+        TickScheduler ticks = new TickScheduler(tickRate, 1);
 
         while (isRunning) {
-            long startTime = System.currentTimeMillis();
-
-
-            if (inputChanged) {
-                long currentTime = System.currentTimeMillis();
-                long timeSinceLastInput = currentTime - lastInputTime.get();
-
-                if (timeSinceLastInput >= INPUT_THROTTLE_MS) {
-                    synchronized (keyStates) {
-                        sendPacket(new GamePacket(PacketType.PLAYER_INPUT, currentInput));
-                        lastInputTime.set(currentTime);
-                        inputChanged = false;
-                    }
-                }
+            try {
+                ticks.awaitNextTicks();
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+                return;
             }
 
-            if (shootingChanged) {
-                sendPacket(new GamePacket(PacketType.PLAYER_SHOOT, null));
-            }
+            sendInput();
+        }
+    }
 
-            Platform.runLater(() -> {
-                render();
-                renderHealthBars();
-                renderDeathNotifications();
-            });
+    /**
+     * Sends the held keys as this tick's input and applies it to the predicted local player at once.
+     */
+    private void sendInput() {
+        Player.Input held = currentInput;
+        Player.Input input = new Player.Input();
+        input.up = held.up;
+        input.down = held.down;
+        input.left = held.left;
+        input.right = held.right;
+        input.shooting = held.shooting;
+        input.sequence = ++inputSequence;
+        input.tick = lastServerTick;
+        sendPacket(new GamePacket(PacketType.PLAYER_INPUT, input));
 
-            long endTime = System.currentTimeMillis();
-            long sleepTime = frameTime - (endTime - startTime);
-            if (sleepTime > 0) {
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+        synchronized (gameStateLock) {
+            if (prediction != null) {
+                prediction.predict(input);
             }
         }
     }
@@ -192,12 +199,10 @@ public class GameClient extends Application {
     private void networkLoop() {
         try {
             while (isRunning) {
-                GamePacket packet = (GamePacket) in.readObject();
-                if (packet != null) {
-                    handlePacket(packet);
-                }
+                GamePacket packet = PacketCodec.read(in);
+                handlePacket(packet);
             }
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException e) {
             System.err.println("Network error: " + e.getMessage());
             e.printStackTrace();
             isRunning = false;
@@ -210,80 +215,167 @@ public class GameClient extends Application {
 
     private void handlePacket(GamePacket packet) {
         switch (packet.type) {
+            case MATCH_ASSIGN:
+                System.out.println("Joined match " + packet.data);
+                break;
+
+            case TICK_RATE:
+                startTicking((Double) packet.data);
+                break;
+
             case PLAYER_ID_ASSIGN:
                 currentPlayerId = (Integer) packet.data;
+                synchronized (gameStateLock) {
+                    prediction = new PlayerPrediction(currentPlayerId);
+                    if (!obstacles.isEmpty()) {
+                        prediction.setObstacles(obstacles);
+                    }
+                }
                 System.out.println("Assigned player ID: " + currentPlayerId);
                 break;
 
+            case MAP_HASH:
+                long hash = (Long) packet.data;
+                MapManifest cached = mapCache.get(hash);
+                if (cached != null) {
+                    System.out.println("Using cached map " + cached.getHashHex());
+                    applyMap(cached);
+                } else {
+                    sendPacket(new GamePacket(PacketType.MAP_REQUEST, hash));
+                }
+                break;
+
+            case MAP_MANIFEST:
+                MapManifest manifest = (MapManifest) packet.data;
+                if (!manifest.isIntact()) {
+                    System.err.println("Dropping map " + manifest.getHashHex() + ", obstacles do not match its hash");
+                    break;
+                }
+                System.out.println("Downloaded map " + manifest.getHashHex());
+                mapCache.put(manifest);
+                applyMap(manifest);
+                break;
+
             case PacketType.GAME_STATE:
-            synchronized (gameStateLock) {
-                try {
-                    GameState newState = (GameState) packet.data;
-                    if (newState != null) {
-                        if (gameState != null) {
-                            Set<Integer> currentPlayers = newState.getPlayers().keySet();
-                            Set<Integer> previousPlayers = gameState.getPlayers().keySet();
-
-                            for (Integer playerId : currentPlayers) {
-                                if (!previousPlayers.contains(playerId)) {
-                                    String joinMsg = "Player " + playerId + " has joined the game";
-                                    addNotification(playerId, joinMsg, JOIN_NOTIFICATION_COLOR);
-                                }
-                            }
+                applyGameState((Snapshot) packet.data);
+                break;
 
-                            for (Integer playerId : previousPlayers) {
-                                if (!currentPlayers.contains(playerId)) {
-                                    String disconnectMsg = "Player " + playerId + " has left the game";
-                                    addNotification(playerId, disconnectMsg, DISCONNECT_NOTIFICATION_COLOR);
-                                }
-                            }
-                        } else {
-                            for (Integer playerId : newState.getPlayers().keySet()) {
+            case GAME_STATE_DELTA:
+                SnapshotDelta delta = (SnapshotDelta) packet.data;
+                Snapshot baseline = snapshotHistory.get(delta.getBaselineTick());
+                if (baseline == null) {
+                    System.err.println("Dropping delta for tick " + delta.getTick() +
+                            ", baseline " + delta.getBaselineTick() + " is no longer available");
+                    break;
+                }
+                applyGameState(delta.applyTo(baseline));
+                break;
+        }
+    }
+
+    /**
+     * Called once the server has sent its tick rate, which both the tick-to-time mapping of the
+     * interpolation and the input send rate depend on.
+     */
+    private void startTicking(double tickRate) {
+        synchronized (gameStateLock) {
+            if (interpolation != null) {
+                return;
+            }
+            String delay = getParameters().getNamed().get("interp-delay");
+            interpolation = new InterpolationBuffer(tickRate,
+                    delay != null ? Long.parseLong(delay) : DEFAULT_INTERPOLATION_DELAY_MS, MAX_EXTRAPOLATION_MS);
+        }
+        System.out.println("Server runs at " + tickRate + " ticks per second");
+        new Thread(() -> inputLoop(tickRate)).start();
+    }
+
+    private void applyMap(MapManifest manifest) {
+        synchronized (gameStateLock) {
+            obstacles = manifest.getObstacles();
+            if (prediction != null) {
+                prediction.setObstacles(obstacles);
+            }
+        }
+    }
+
+    private void applyGameState(Snapshot newState) {
+        int ackTick = -1;
+        synchronized (gameStateLock) {
+            try {
+                if (newState != null) {
+                    if (gameState != null) {
+                        List<Integer> currentPlayers = newState.getPlayerIds();
+                        List<Integer> previousPlayers = gameState.getPlayerIds();
+
+                        for (Integer playerId : currentPlayers) {
+                            if (!previousPlayers.contains(playerId)) {
                                 String joinMsg = "Player " + playerId + " has joined the game";
                                 addNotification(playerId, joinMsg, JOIN_NOTIFICATION_COLOR);
                             }
                         }
 
-                        gameState = newState;
-                        checkPlayerDeaths();
-                        sendPacket(new GamePacket(PacketType.STATE_ACK, null));
+                        for (Integer playerId : previousPlayers) {
+                            if (!currentPlayers.contains(playerId)) {
+                                String disconnectMsg = "Player " + playerId + " has left the game";
+                                addNotification(playerId, disconnectMsg, DISCONNECT_NOTIFICATION_COLOR);
+                            }
+                        }
+                    } else {
+                        for (Integer playerId : newState.getPlayerIds()) {
+                            String joinMsg = "Player " + playerId + " has joined the game";
+                            addNotification(playerId, joinMsg, JOIN_NOTIFICATION_COLOR);
+                        }
+                    }
+
+                    gameState = newState;
+                    lastServerTick = newState.getTick();
+                    if (interpolation != null) {
+                        interpolation.add(newState, System.nanoTime());
+                    }
+                    if (prediction != null) {
+                        prediction.reconcile(newState);
                     }
-                } catch (Exception e) {
-                    System.err.println("Error processing game state: " + e.getMessage());
-                    e.printStackTrace();
+                    snapshotHistory.add(newState);
+                    checkPlayerDeaths();
+                    ackTick = newState.getTick();
                 }
+            } catch (Exception e) {
+                System.err.println("Error processing game state: " + e.getMessage());
+                e.printStackTrace();
             }
         }
+        // Acknowledged after releasing the lock, so a stalled socket cannot hold up rendering.
+        if (ackTick >= 0) {
+            sendPacket(new GamePacket(PacketType.STATE_ACK, ackTick));
+        }
     }
-    private void addNotification(int playerId, String message, Color color) {
-        playerNotifications.put(playerId, new NotificationInfo(message, color));
 
-        new Thread(() -> {
-            try {
-                Thread.sleep(NOTIFICATION_DISPLAY_TIME);
-                Platform.runLater(() -> playerNotifications.remove(playerId));
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+    // Called with gameStateLock held; the notification is removed when its timer fires in renderFrame.
+    private void addNotification(int playerId, String message, Color color) {
+        int timer = notificationTimers.schedule(NOTIFICATION_DISPLAY_TICKS, playerId);
+        NotificationInfo previous = playerNotifications.put(playerId, new NotificationInfo(message, color, timer));
+        if (previous != null) {
+            notificationTimers.cancel(previous.timer);
+        }
     }
 
 
     private void checkPlayerDeaths() {
-        Map<Integer, Player> players = gameState.getPlayers();
-        for (Player player : players.values()) {
-            if (player != null && !player.isAlive()) {
-                String deathNotification = "Player " + player.getId() + " has been eliminated";
-                playerDeathNotifications.put(player.getId(), deathNotification);
+        List<Snapshot.PlayerState> players = gameState.getPlayers();
+        for (Snapshot.PlayerState player : players) {
+            if (!player.alive) {
+                String deathNotification = "Player " + player.id + " has been eliminated";
+                playerDeathNotifications.put(player.id, deathNotification);
             }
         }
 
         int alivePlayerCount = 0;
         int winningPlayerId = -1;
-        for (Player player : players.values()) {
-            if (player != null && player.isAlive()) {
+        for (Snapshot.PlayerState player : players) {
+            if (player.alive) {
                 alivePlayerCount++;
-                winningPlayerId = player.getId();
+                winningPlayerId = player.id;
             }
         }
 
@@ -293,154 +385,110 @@ public class GameClient extends Application {
         }
     }
 
-    private void render() {
-        if (gameState == null) return;
-
+    /**
+     * Draws one frame from the newest state. Runs once per JavaFX pulse, so a slow frame delays the next
+     * one instead of queueing more, and takes the game state lock once for the whole frame.
+     */
+    private void renderFrame() {
         synchronized (gameStateLock) {
-            gc.setFill(new LinearGradient(
-                    0, 0, 1, 1, true, CycleMethod.NO_CYCLE,
-                    new Stop(0, Color.BLACK),
-                    new Stop(1, Color.DARKSLATEGRAY)
-            ));
-            gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
-
-            Map<Integer, Player> players = gameState.getPlayers();
-            if (players != null) {
-                for (Player player : players.values()) {
-                    if (player != null && player.getPosition() != null) {
-                        gc.setFill(player.getObjectColor());
-                        gc.setEffect(new DropShadow(10, Color.BLACK));
-                        gc.fillOval(player.getPosition().x, player.getPosition().y,
-                                Constants.PLAYER_SIZE, Constants.PLAYER_SIZE);
-
-                        gc.setFill(player.getBarrelColor());
-                        double barrelLength = 10;
-                        double barrelWidth = 4;
-                        double centerX = player.getPosition().x + Constants.PLAYER_SIZE / 2;
-                        double centerY = player.getPosition().y + Constants.PLAYER_SIZE / 2;
-
-                        switch (player.getLastDirection()) {
-                            case UP:
-                                gc.fillRect(centerX - barrelWidth/2,
-                                        centerY - barrelLength,
-                                        barrelWidth,
-                                        barrelLength);
-                                break;
-                            case DOWN:
-                                gc.fillRect(centerX - barrelWidth/2,
-                                        centerY,
-                                        barrelWidth,
-                                        barrelLength);
-                                break;
-                            case LEFT:
-                                gc.fillRect(centerX - barrelLength,
-                                        centerY - barrelWidth/2,
-                                        barrelLength,
-                                        barrelWidth);
-                                break;
-                            case RIGHT:
-                                gc.fillRect(centerX,
-                                        centerY - barrelWidth/2,
-                                        barrelLength,
-                                        barrelWidth);
-                                break;
-                        }
-                    }
-                }
+            long now = System.nanoTime();
+            notificationTimers.advanceTo((now - clockStart) / NOTIFICATION_TIMER_NANOS, expireNotification);
+            Snapshot view = interpolation != null ? interpolation.sample(now) : null;
+            if (view != null) {
+                render(view);
+                renderHealthBars(view);
             }
+            renderDeathNotifications();
+        }
+    }
 
-            gc.setEffect(null);
-            for (Projectile projectile : gameState.getProjectiles()) {
-                Player player = players.getOrDefault(projectile.getPlayer().getId(), null);
-                gc.setFill(player != null ? player.getBarrelColor() : Color.rgb(255, 69, 0, 0.8));
-                if (projectile != null && projectile.getPosition() != null) {
-                    gc.fillOval(projectile.getPosition().x, projectile.getPosition().y,
-                            Constants.PROJECTILE_SIZE, Constants.PROJECTILE_SIZE);
-                }
-            }
-            if (gameState.getObstacles() != null) {
-                gc.setFill(Color.CYAN);
-                gc.setEffect(new DropShadow(5, Color.CYAN));
-
-                for (Obstacle obstacle : gameState.getObstacles()) {
-                    if (obstacle != null && obstacle.getPosition() != null) {
-//                        System.out.println("Drawing obstacle at: " +
-//                                obstacle.getPosition().x + ", " +
-//                                obstacle.getPosition().y +
-//                                " with size: " + obstacle.getWidth() + "x" + obstacle.getHeight());
-
-                        gc.fillRect(
-                                obstacle.getPosition().x,
-                                obstacle.getPosition().y,
-                                obstacle.getWidth(),
-                                obstacle.getHeight()
-                        );
-                    }
-                }
-                gc.setEffect(null);
+    private void render(Snapshot view) {
+        double renderTick = interpolation.getRenderTick();
+        gc.drawImage(sprites.getBackground(obstacles), 0, 0);
+
+        double padding = sprites.getPlayerPadding();
+        for (Snapshot.PlayerState player : view.getPlayers()) {
+            gc.drawImage(sprites.getPlayer(player.id, playerDirection(player)),
+                    playerX(player) - padding, playerY(player) - padding);
+        }
+
+        for (Snapshot.ProjectileState projectile : view.getProjectiles()) {
+            if (projectile.spawnTick > renderTick) {
+                continue;
             }
+            Snapshot.PlayerState player = view.getPlayer(projectile.ownerId);
+            gc.setFill(player != null ? sprites.getProjectileColor(player.id) : Color.rgb(255, 69, 0, 0.8));
+            gc.fillOval(projectile.getX(renderTick), projectile.getY(renderTick),
+                    Constants.PROJECTILE_SIZE, Constants.PROJECTILE_SIZE);
         }
     }
 
-    private void renderHealthBars() {
-        synchronized (gameStateLock) {
-            if(gameState != null) {
-                Map<Integer, Player> players = gameState.getPlayers();
-                for (Player player : players.values()) {
-                    if (player != null && player.getPosition() != null) {
-                        double healthBarWidth = Constants.PLAYER_SIZE;
-                        double healthBarHeight = 5;
-                        double healthBarX = player.getPosition().x;
-                        double healthBarY = player.getPosition().y - healthBarHeight - 5;
-
-                        gc.setFill(Color.GRAY);
-                        gc.fillRect(healthBarX, healthBarY, healthBarWidth, healthBarHeight);
-
-                        double healthPercentage = player.getHealth() / 100.0;
-                        gc.setFill(Color.GREEN);
-                        gc.fillRect(healthBarX, healthBarY, healthBarWidth * healthPercentage, healthBarHeight);
-
-                        if (player.getId() == currentPlayerId) {
-                            double dotSize = 6;
-                            double dotX = healthBarX - 10 ;
-                            double dotY = healthBarY + (healthBarHeight / 2) - (dotSize / 2);
-
-                            gc.setFill(Color.BLACK);
-                            gc.fillOval(dotX - 1, dotY - 1, dotSize + 2, dotSize + 2);
-
-                            gc.setFill(Color.LIGHTGREEN);
-                            gc.fillOval(dotX, dotY, dotSize, dotSize);
-                        }
-                    }
-                }
+    // The local player is drawn where prediction puts it, everyone else at their snapshot position.
+    private boolean isPredicted(Snapshot.PlayerState player) {
+        return player.id == currentPlayerId && prediction != null && prediction.isSynced();
+    }
+
+    private double playerX(Snapshot.PlayerState player) {
+        return isPredicted(player) ? prediction.getX() : player.x;
+    }
+
+    private double playerY(Snapshot.PlayerState player) {
+        return isPredicted(player) ? prediction.getY() : player.y;
+    }
+
+    private Player.Direction playerDirection(Snapshot.PlayerState player) {
+        return isPredicted(player) ? prediction.getDirection() : player.direction;
+    }
+
+    private void renderHealthBars(Snapshot view) {
+        for (Snapshot.PlayerState player : view.getPlayers()) {
+            double healthBarWidth = Constants.PLAYER_SIZE;
+            double healthBarHeight = 5;
+            double healthBarX = playerX(player);
+            double healthBarY = playerY(player) - healthBarHeight - 5;
+
+            gc.setFill(Color.GRAY);
+            gc.fillRect(healthBarX, healthBarY, healthBarWidth, healthBarHeight);
+
+            double healthPercentage = player.health / 100.0;
+            gc.setFill(Color.GREEN);
+            gc.fillRect(healthBarX, healthBarY, healthBarWidth * healthPercentage, healthBarHeight);
+
+            if (player.id == currentPlayerId) {
+                double dotSize = 6;
+                double dotX = healthBarX - 10 ;
+                double dotY = healthBarY + (healthBarHeight / 2) - (dotSize / 2);
+
+                gc.setFill(Color.BLACK);
+                gc.fillOval(dotX - 1, dotY - 1, dotSize + 2, dotSize + 2);
+
+                gc.setFill(Color.LIGHTGREEN);
+                gc.fillOval(dotX, dotY, dotSize, dotSize);
             }
         }
     }
+
     private void renderDeathNotifications() {
-        synchronized (gameStateLock) {
-            double notificationY = 20;
-            double maxWidth = Constants.GAME_WIDTH - 300;
+        double notificationY = 20;
+        double maxWidth = Constants.GAME_WIDTH - 300;
 
-            gc.setFont(Font.font(18));
+        gc.setFont(NOTIFICATION_FONT);
 
-            for (String notification : playerDeathNotifications.values()) {
-                gc.setFill(notification.contains("won") ? VICTORY_NOTIFICATION_COLOR : DEATH_NOTIFICATION_COLOR);
-                gc.fillText(notification, maxWidth, notificationY);
-                notificationY += 25;
-            }
+        for (String notification : playerDeathNotifications.values()) {
+            gc.setFill(notification.contains("won") ? VICTORY_NOTIFICATION_COLOR : DEATH_NOTIFICATION_COLOR);
+            gc.fillText(notification, maxWidth, notificationY);
+            notificationY += 25;
+        }
 
-            long currentTime = System.currentTimeMillis();
-            for (Map.Entry<Integer, NotificationInfo> entry : playerNotifications.entrySet()) {
-                NotificationInfo info = entry.getValue();
-
-                long age = currentTime - info.timestamp;
-                double opacity = 1.0 - (age / (double) NOTIFICATION_DISPLAY_TIME);
-                if (opacity > 0) {
-                    Color color = info.color.deriveColor(0, 1, 1, opacity);
-                    gc.setFill(color);
-                    gc.fillText(info.message, maxWidth, notificationY);
-                    notificationY += 25;
-                }
+        long currentTime = System.currentTimeMillis();
+        for (NotificationInfo info : playerNotifications.values()) {
+            long age = currentTime - info.timestamp;
+            double opacity = 1.0 - (age / (double) NOTIFICATION_DISPLAY_TIME);
+            if (opacity > 0) {
+                Color color = info.color.deriveColor(0, 1, 1, opacity);
+                gc.setFill(color);
+                gc.fillText(info.message, maxWidth, notificationY);
+                notificationY += 25;
             }
         }
     }
@@ -449,9 +497,7 @@ public class GameClient extends Application {
         try {
             if (out != null) {
                 synchronized (out) {
-                    out.reset();
-                    out.writeObject(packet);
-                    out.flush();
+                    PacketCodec.write(out, packet);
                 }
             }
         } catch (IOException e) {
@@ -473,6 +519,9 @@ public class GameClient extends Application {
     @Override
     public void stop() {
         isRunning = false;
+        if (renderTimer != null) {
+            renderTimer.stop();
+        }
         try {
             socket.close();
         } catch (IOException e) {
@@ -0,0 +1,60 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.network.MapManifest;
+import com.battle_royale.utils.Constants;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An arena layout and the seed it was generated from. The same seed always produces the same layout,
+ * so a map seen in a log can be regenerated with {@link #generate(long)}.
+ */
+public class GameMap {
+    public static final int DEFAULT_OBSTACLES = 30;
+    private static final double MIN_DISTANCE_BETWEEN_OBSTACLES = 120;
+
+    private final long seed;
+    private final List<Obstacle> obstacles;
+    private final MapManifest manifest;
+    private final long generationNanos;
+
+    public GameMap(long seed, List<Obstacle> obstacles, long generationNanos) {
+        this.seed = seed;
+        this.obstacles = List.copyOf(obstacles);
+        this.manifest = MapManifest.of(this.obstacles);
+        this.generationNanos = generationNanos;
+    }
+
+    public static GameMap generate(long seed) {
+        return generate(seed, DEFAULT_OBSTACLES);
+    }
+
+    public static GameMap generate(long seed, int obstacleCount) {
+        long start = System.nanoTime();
+        MapGenerator generator = new MapGenerator(Constants.GAME_WIDTH, Constants.GAME_HEIGHT,
+                GameState.initializeSpawnPoints(), new SplittableRandom(seed));
+        List<Obstacle> obstacles = generator.generate(obstacleCount, MIN_DISTANCE_BETWEEN_OBSTACLES);
+        return new GameMap(seed, obstacles, System.nanoTime() - start);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+
+    public MapManifest getManifest() {
+        return manifest;
+    }
+
+    /**
+     * Time it took to generate this map, or zero if it was loaded from a file.
+     */
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+}
@@ -1,9 +1,8 @@
 package com.battle_royale.game;
 
 import com.battle_royale.model.Vector2D;
-import java.io.Serializable;
 
-public abstract class GameObject implements Serializable {
+public abstract class GameObject {
     protected Vector2D position;
     protected Vector2D velocity;
 
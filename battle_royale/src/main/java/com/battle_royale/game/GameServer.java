@@ -1,181 +1,249 @@
 package com.battle_royale.game;
 
+import com.battle_royale.network.Connection;
+import com.battle_royale.network.ConnectionListener;
 import com.battle_royale.network.GamePacket;
+import com.battle_royale.network.MapManifest;
+import com.battle_royale.network.NioServer;
 import com.battle_royale.network.PacketType;
+import com.battle_royale.network.SocketConnection;
 import com.battle_royale.model.Player;
 
 import java.io.*;
 import java.net.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class GameServer {
+public class GameServer implements ConnectionListener {
     private ServerSocket serverSocket;
-    private final int port = 5000;
-    private final Map<Integer, ClientHandler> clients = new ConcurrentHashMap<>();
-    private final GameState gameState;
+    private final ServerConfig config;
+    private final Map<Connection, ClientHandler> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPlayerId = new AtomicInteger();
+    private final Map<Integer, Match> matches = new LinkedHashMap<>();
+    private final ReentrantLock matchLock = new ReentrantLock();
+    private final ScheduledExecutorService matchThreads;
+    private MapPool mapPool;
+    private final AtomicInteger nextMatchId = new AtomicInteger();
     private boolean isRunning = true;
 
-    public GameServer() {
-        this.gameState = new GameState();
+    public GameServer(ServerConfig config) {
+        this.config = config;
+        this.matchThreads = Executors.newScheduledThreadPool(config.getMatchThreads(),
+                Thread.ofPlatform().name("match-", 0).factory());
     }
 
     public void start() {
         try {
-            serverSocket = new ServerSocket(port);
-            System.out.println("Server started on port " + port);
+            mapPool = createMapPool();
+            System.out.println("Hosting matches of up to " + config.getMatchSize() + " players on " +
+                    config.getMatchThreads() + " match threads");
 
-            new Thread(this::gameLoop).start();
+            if (config.getTransport() == ServerConfig.Transport.NIO) {
+                new NioServer(config.getPort(), config.getIoThreads(), this).start();
+                return;
+            }
+
+            serverSocket = new ServerSocket(config.getPort());
+            System.out.println("Server started on port " + config.getPort() +
+                    " (blocking, " + config.getThreadMode().name().toLowerCase() + " threads)");
 
+            Thread.Builder connectionThreads = config.connectionThreads();
             while (isRunning) {
                 Socket clientSocket = serverSocket.accept();
-                int playerId = clients.size() + 1;
-                ClientHandler clientHandler = new ClientHandler(clientSocket, playerId);
-                clients.put(playerId, clientHandler);
-                new Thread(clientHandler).start();
-                System.out.println("New player connected: " + playerId);
+                connectionThreads.start(new SocketConnection(clientSocket, this, connectionThreads));
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    private void gameLoop() {
-        final int FPS = 60;
-        final long frameTime = 1000 / FPS;
+    @Override
+    public void onConnect(Connection connection) {
+        int playerId = nextPlayerId.incrementAndGet();
+        clients.put(connection, new ClientHandler(connection, playerId));
+        System.out.println("New player connected: " + playerId);
+    }
 
-        while (isRunning) {
-            long startTime = System.currentTimeMillis();
+    @Override
+    public void onPacket(Connection connection, GamePacket packet) {
+        ClientHandler clientHandler = clients.get(connection);
+        if (clientHandler != null) {
+            clientHandler.handlePacket(packet);
+        }
+    }
 
-            gameState.update();
-            broadcastGameState();
+    @Override
+    public void onDisconnect(Connection connection) {
+        ClientHandler clientHandler = clients.remove(connection);
+        if (clientHandler != null) {
+            clientHandler.leaveMatch();
+            System.out.println("Player " + clientHandler.playerId + " disconnected");
+        }
+    }
 
-            long endTime = System.currentTimeMillis();
-            long sleepTime = frameTime - (endTime - startTime);
-            if (sleepTime > 0) {
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+    /**
+     * Adds the player to the requested match if it exists and has room, otherwise to the first
+     * match with room. When every match is full a new one is created, including its map, outside
+     * matchLock and then published under it, so a slow map does not hold up other joins and leaves.
+     * Runs on its own thread rather than the connection's, which may be a shared NIO worker.
+     */
+    private void joinMatch(ClientHandler client, Integer requestedMatchId) {
+        Match created = null;
+        while (true) {
+            matchLock.lock();
+            try {
+                if (!clients.containsKey(client.connection)) {
+                    if (created != null) {
+                        created.stop();
+                    }
+                    return;
+                }
+                Match match = created;
+                if (created != null) {
+                    matches.put(created.getId(), created);
+                    System.out.println("Started match " + created.getId() + " on map seed " + created.getMap().getSeed() +
+                            (created.getMap().getGenerationNanos() > 0 ? " (generated in " +
+                                    created.getMap().getGenerationNanos() / 1_000_000 + " ms)" : "") +
+                            " (" + matches.size() + " running)");
+                } else {
+                    match = findMatchWithRoom(client.playerId, requestedMatchId);
+                }
+                if (match != null) {
+                    client.connection.sendPacket(new GamePacket(PacketType.MATCH_ASSIGN, match.getId()));
+                    client.connection.sendPacket(new GamePacket(PacketType.TICK_RATE, config.getTickRate()));
+                    client.connection.sendPacket(new GamePacket(PacketType.PLAYER_ID_ASSIGN, client.playerId));
+                    client.connection.sendPacket(new GamePacket(PacketType.MAP_HASH, match.getMap().getManifest().getHash()));
+                    System.out.println("Player " + client.playerId + " joined match " + match.getId());
+                    client.member = match.addPlayer(client.connection, client.playerId);
+                    return;
                 }
+            } finally {
+                matchLock.unlock();
             }
+            created = createMatch();
         }
     }
 
-
-    private void broadcastGameState() {
-        GamePacket packet = new GamePacket(PacketType.GAME_STATE, gameState);
-        Map<Integer, ClientHandler> clientsSnapshot;
-        synchronized (clients) {
-            clientsSnapshot = new HashMap<>(clients);
+    private Match findMatchWithRoom(int playerId, Integer requestedMatchId) {
+        if (requestedMatchId != null) {
+            Match requested = matches.get(requestedMatchId);
+            if (requested != null && requested.getPlayerCount() < config.getMatchSize()) {
+                return requested;
+            }
+            System.out.println("Match " + requestedMatchId + " is full or does not exist, player " +
+                    playerId + " will be placed in another match");
         }
-//        clients.values().forEach(client -> {
-//            client.sendPacket(packet);
-//        });
-
-        for (ClientHandler client : clientsSnapshot.values()) {
-            client.sendPacket(packet);
+        for (Match candidate : matches.values()) {
+            if (candidate.getPlayerCount() < config.getMatchSize()) {
+                return candidate;
+            }
         }
+        return null;
     }
 
+    private Match createMatch() {
+        GameMap map = mapPool.take();
+        Match match = new Match(nextMatchId.incrementAndGet(), config, map);
+        match.start(matchThreads);
+        return match;
+    }
 
-    private class ClientHandler implements Runnable {
-        private final Socket socket;
-        private final int playerId;
-        private ObjectOutputStream out;
-        private ObjectInputStream in;
-        private volatile boolean isRunning = true;
-
-
-        public ClientHandler(Socket socket, int playerId) {
-            this.socket = socket;
-            this.playerId = playerId;
-            try {
-                this.out = new ObjectOutputStream(socket.getOutputStream());
-                this.in = new ObjectInputStream(socket.getInputStream());
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+    private MapPool createMapPool() throws IOException {
+        if (config.getMapFile() != null) {
+            List<GameMap> maps = MapFile.read(Path.of(config.getMapFile()));
+            System.out.println("Loaded " + maps.size() + " maps from " + config.getMapFile());
+            return MapPool.fromMaps(maps);
         }
+        long firstSeed = config.getMapSeed() != null ? config.getMapSeed() : System.nanoTime();
+        System.out.println("Generating maps from seed " + firstSeed + ", " + config.getMapPoolSize() + " ahead");
+        return MapPool.generating(config.getMapPoolSize(), firstSeed);
+    }
 
-        @Override
-        public void run() {
-
-            try {
-                while (isRunning) {
-                    try {
-                        Object packetObj = in.readObject();
-                        if (packetObj instanceof GamePacket) {
-                            GamePacket packet = (GamePacket) packetObj;
-                            handlePacket(packet);
-                        }
-                    } catch (ClassNotFoundException e) {
-                        System.err.println("Invalid packet received from player " + playerId);
-                        e.printStackTrace();
-                    } catch (IOException e) {
-                        System.out.println("Player " + playerId + " disconnected");
-                        isRunning = false;
-                    }
-                }
-            } finally {
-                cleanup();
+    private void leaveMatch(Match.Member member) {
+        matchLock.lock();
+        try {
+            Match match = member.getMatch();
+            match.removePlayer(member);
+            if (match.getPlayerCount() == 0) {
+                matches.remove(match.getId());
+                match.stop();
+                System.out.println("Closed empty match " + match.getId() + " (" + matches.size() + " running)");
             }
+        } finally {
+            matchLock.unlock();
         }
+    }
 
 
+    private class ClientHandler {
+        private final Connection connection;
+        private final int playerId;
+        private final AtomicBoolean joining = new AtomicBoolean();
+        private volatile Match.Member member;
 
-        private void cleanup() {
-            isRunning = false;
-            System.out.println("Player " + playerId + " disconnected");
-
-            clients.remove(playerId);
-            gameState.removePlayer(playerId);
-
-            try {
-                if (socket != null && !socket.isClosed()) {
-                    socket.close();
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-
-            broadcastGameState();
+        public ClientHandler(Connection connection, int playerId) {
+            this.connection = connection;
+            this.playerId = playerId;
         }
 
         private void handlePacket(GamePacket packet) {
+            Match.Member current = member;
             switch (packet.type) {
                 case PLAYER_JOIN:
-                    sendPacket(new GamePacket(PacketType.PLAYER_ID_ASSIGN, playerId));
-                    gameState.addPlayer(playerId);
-                    broadcastGameState();
+                    if (current == null && joining.compareAndSet(false, true)) {
+                        Integer requestedMatchId = (Integer) packet.data;
+                        Thread.ofVirtual().name("join-" + playerId).start(() -> joinMatch(this, requestedMatchId));
+                    }
                     break;
                 case PLAYER_INPUT:
-                    gameState.updatePlayerInput(playerId, (Player.Input) packet.data);
+                    if (current != null) {
+                        current.getMatch().getGameState().updatePlayerInput(playerId, (Player.Input) packet.data);
+                    }
+                    break;
+                case STATE_ACK:
+                    if (current != null) {
+                        current.acknowledge((Integer) packet.data);
+                    }
+                    break;
+                case MAP_REQUEST:
+                    if (current != null) {
+                        MapManifest manifest = current.getMatch().getMap().getManifest();
+                        if (manifest.getHash() == (Long) packet.data) {
+                            connection.sendPacket(new GamePacket(PacketType.MAP_MANIFEST, manifest));
+                        } else {
+                            System.err.println("Player " + playerId + " requested unknown map " + packet.data);
+                        }
+                    }
                     break;
                 default:
                     break;
             }
         }
 
-
-        public void sendPacket(GamePacket packet) {
-            synchronized (out) {
-                try {
-                    if (out != null && socket != null && !socket.isClosed()) {
-                        out.reset();
-                        out.writeObject(packet);
-                        out.flush();
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error sending packet to player " + playerId);
-                    isRunning = false;
-                    cleanup();
+        // Both this and joinMatch hold matchLock, so a player can't be added after leaving.
+        private void leaveMatch() {
+            matchLock.lock();
+            try {
+                if (member != null) {
+                    GameServer.this.leaveMatch(member);
                 }
+            } finally {
+                matchLock.unlock();
             }
         }
+
+        public void sendPacket(GamePacket packet) {
+            connection.sendPacket(packet);
+        }
     }
 
     public static void main(String[] args) {
-        new GameServer().start();
+        new GameServer(ServerConfig.fromArgs(args)).start();
     }
-}
\ No newline at end of file
+}
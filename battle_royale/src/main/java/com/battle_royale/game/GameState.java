@@ -1,42 +1,72 @@
 package com.battle_royale.game;
 
-import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
 
 import com.battle_royale.model.Obstacle;
 import com.battle_royale.model.Player;
-import com.battle_royale.model.Projectile;
 import com.battle_royale.model.Vector2D;
+import com.battle_royale.network.Snapshot;
+import com.battle_royale.utils.CollisionUtils;
 import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.ObstacleIndex;
+import com.battle_royale.utils.SpatialGrid;
+import com.battle_royale.utils.TimerWheel;
 
-public class GameState implements Serializable {
-    private static final long serialVersionUID = 1L;
+public class GameState {
     private final ConcurrentHashMap<Integer, Player> players;
-    private final CopyOnWriteArrayList<Projectile> projectiles;
-    private final ConcurrentHashMap<Integer, Player.Input> playerInputs;
+    private final ProjectileStore projectiles;
     private final CopyOnWriteArrayList<Obstacle> obstacles;
 
-    private static final int GRID_SIZE = 20;
-    private static final double MIN_OBSTACLE_SIZE = 30;
-    private static final double MAX_OBSTACLE_SIZE = 80;
-    private static final double SPAWN_SAFE_ZONE_RADIUS = 100;
-    private static final int TOTAL_OBSTACLES = 30;
-    private static final double MIN_DISTANCE_BETWEEN_OBSTACLES = 120;
+    public static final double PLAYER_GRID_CELL_SIZE = 64;
+    public static final double OBSTACLE_INDEX_CELL_SIZE = 32;
+    private static final double PROJECTILE_HIT_SIZE = 5;
+    public static final double DEFAULT_TICK_RATE = 60;
+    private static final int MAX_INPUT_BACKLOG = 4;
+    private static final int TIMER_WHEEL_SLOTS = 256;
     private final List<Vector2D> spawnPoints;
+    private volatile int tick;
+    private final SpatialGrid<Player> playerGrid =
+            new SpatialGrid<>(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, PLAYER_GRID_CELL_SIZE);
+    private final List<Player> nearbyPlayers = new ArrayList<>();
+    private final SpatialGrid<Snapshot.ProjectileState> projectileGrid =
+            new SpatialGrid<>(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, PLAYER_GRID_CELL_SIZE);
+    private final List<Snapshot.ProjectileState> nearbyProjectiles = new ArrayList<>();
+    private int projectileGridTick = -1;
+    private final List<Player> tickOrder = new ArrayList<>();
+    private final ObstacleIndex obstacleIndex;
+    private final TimerWheel projectileTimers = new TimerWheel(TIMER_WHEEL_SLOTS);
+    private final IntConsumer expireProjectile = this::removeProjectile;
+    private final int projectileLifetimeTicks;
+    private final int shootCooldownTicks;
+    private final SplittableRandom spawnRandom;
+    private MatchRecorder recorder;
+    private int maxInputBacklog = MAX_INPUT_BACKLOG;
 
     public GameState() {
+        this(GameMap.generate(ThreadLocalRandom.current().nextLong()));
+    }
+
+    public GameState(GameMap map) {
+        this(map, DEFAULT_TICK_RATE);
+    }
+
+    public GameState(GameMap map, double tickRate) {
         this.players = new ConcurrentHashMap<>();
-        this.projectiles = new CopyOnWriteArrayList<>();
-        this.playerInputs = new ConcurrentHashMap<>();
-        this.obstacles = new CopyOnWriteArrayList<>();
+        this.projectiles = new ProjectileStore();
+        this.obstacles = new CopyOnWriteArrayList<>(map.getObstacles());
         this.spawnPoints = initializeSpawnPoints();
-        initializeObstacles(TOTAL_OBSTACLES, MIN_DISTANCE_BETWEEN_OBSTACLES);
+        this.obstacleIndex = new ObstacleIndex(obstacles, Constants.GAME_WIDTH, Constants.GAME_HEIGHT, OBSTACLE_INDEX_CELL_SIZE);
+        this.projectileLifetimeTicks = Math.max(1, (int) Math.round(Constants.PROJECTILE_LIFETIME * tickRate / 1000));
+        this.shootCooldownTicks = (int) Math.round(Constants.SHOOT_COOLDOWN * tickRate / 1000);
+        // Seeded from the map so a recorded match spawns players at the same points when replayed.
+        this.spawnRandom = new SplittableRandom(map.getSeed());
     }
 
-    private List<Vector2D> initializeSpawnPoints() {
+    static List<Vector2D> initializeSpawnPoints() {
         List<Vector2D> points = new ArrayList<>();
         points.add(new Vector2D(100, 100)); // Top-left
         points.add(new Vector2D(Constants.GAME_WIDTH - 100, 100));
@@ -49,208 +79,87 @@ public class GameState implements Serializable {
         return points;
     }
 
-    private static class Rectangle implements Serializable {
-        private static final long serialVersionUID = 1L;
-        double x, y, width, height;
-
-        Rectangle(double x, double y, double width, double height) {
-            this.x = x;
-            this.y = y;
-            this.width = width;
-            this.height = height;
-        }
-    }
-
-    private boolean isInSafeZone(Vector2D position, double width, double height) {
-        Rectangle obstacleRect = new Rectangle(
-                position.x,
-                position.y,
-                width,
-                height
-        );
-
-        for (Vector2D spawnPoint : spawnPoints) {
-            double closestX = Math.max(obstacleRect.x, Math.min(spawnPoint.x, obstacleRect.x + obstacleRect.width));
-            double closestY = Math.max(obstacleRect.y, Math.min(spawnPoint.y, obstacleRect.y + obstacleRect.height));
-
-            double distanceX = spawnPoint.x - closestX;
-            double distanceY = spawnPoint.y - closestY;
-            double distanceSquared = (distanceX * distanceX) + (distanceY * distanceY);
-
-            if (distanceSquared < SPAWN_SAFE_ZONE_RADIUS * SPAWN_SAFE_ZONE_RADIUS) {
-                return true;
+    public synchronized void update() {
+        tick++;
+        for (int i = 0; i < tickOrder.size(); i++) {
+            Player player = tickOrder.get(i);
+            applyInput(player, player.nextInput(tick));
+            // A client that has run ahead catches up by applying several inputs in one tick; none are skipped.
+            for (int extra = player.getQueuedInputs() - maxInputBacklog; extra > 0; extra--) {
+                applyInput(player, player.nextInput(tick));
             }
         }
-        return false;
-    }
-
-    private void initializeObstacles(int count, double minDistanceThreshold) {
-        int maxAttempts = (int) Math.pow(10.0, 5);
-        int currentAttempts = 0;
-
-        while (obstacles.size() < count && currentAttempts < maxAttempts) {
-            double width = ThreadLocalRandom.current().nextDouble(MIN_OBSTACLE_SIZE, MAX_OBSTACLE_SIZE);
-            double height = ThreadLocalRandom.current().nextDouble(MIN_OBSTACLE_SIZE, MAX_OBSTACLE_SIZE);
-            double x = ThreadLocalRandom.current().nextDouble(50, Constants.GAME_WIDTH - width);
-            double y = ThreadLocalRandom.current().nextDouble(50, Constants.GAME_HEIGHT - height);
-
-            Vector2D position = new Vector2D(x, y);
-            Obstacle newObstacle = new Obstacle(position, width, height);
-
-            boolean overlaps = obstacles.stream().anyMatch(obstacle ->
-                    isOverlapping(newObstacle, obstacle, 20)
-            );
-
-            boolean inSafeZone = isInSafeZone(position, width, height);
-            boolean meetsDistanceThreshold = obstacles.stream().noneMatch(obstacle ->
-                    isWithinDistance(newObstacle, obstacle, minDistanceThreshold)
-            );
-
-            if (!overlaps && !inSafeZone && meetsDistanceThreshold) {
-                obstacles.add(newObstacle);
-
-                if (!isMapTraversable()) {
-                    obstacles.remove(newObstacle);
-                }
+        projectileTimers.advanceTo(tick, expireProjectile);
+
+        int slot = 0;
+        while (slot < projectiles.size()) {
+            projectiles.step(slot);
+            if (isProjectileSpent(slot)) {
+                projectileTimers.cancel(projectiles.getExpiryTimer(slot));
+                removeProjectile(slot);
+            } else {
+                slot++;
             }
-
-            currentAttempts++;
+        }
+        if (recorder != null && recorder.isChecksumDue(tick)) {
+            recorder.recordChecksum(tick, checksum());
         }
     }
 
-    private boolean isWithinDistance(Obstacle a, Obstacle b, double threshold) {
-        double dx = Math.abs(a.getPosition().getX() - b.getPosition().getX());
-        double dy = Math.abs(a.getPosition().getY() - b.getPosition().getY());
-        return dx < threshold && dy < threshold;
-    }
-
-    private boolean isOverlapping(Obstacle o1, Obstacle o2, double minGap) {
-        return o1.getPosition().x - minGap < o2.getPosition().x + o2.getWidth() &&
-                o1.getPosition().x + o1.getWidth() + minGap > o2.getPosition().x &&
-                o1.getPosition().y - minGap < o2.getPosition().y + o2.getHeight() &&
-                o1.getPosition().y + o1.getHeight() + minGap > o2.getPosition().y;
-    }
-
-    private boolean isMapTraversable() {
-        boolean[][] grid = createNavigationGrid();
-
-        int startX = 0;
-        int startY = 0;
-
-        while (startX < grid.length && grid[startX][startY]) startX++;
-        while (startY < grid[0].length && grid[startX][startY]) startY++;
-
-        if (startX >= grid.length || startY >= grid[0].length) {
-            return false;
+    private void applyInput(Player player, Player.Input input) {
+        if (recorder != null) {
+            recorder.recordInput(tick, player.getId(), input);
         }
-
-        boolean[][] visited = new boolean[grid.length][grid[0].length];
-        floodFill(grid, visited, startX, startY);
-
-        for (int i = 0; i < grid.length; i++) {
-            for (int j = 0; j < grid[0].length; j++) {
-                if (!grid[i][j] && !visited[i][j]) {
-                    return false;
-                }
-            }
+        player.move(input, obstacleIndex);
+        if (player.tryShoot(input, tick, shootCooldownTicks)) {
+            addProjectile(player, input);
         }
-
-        return true;
     }
 
-    private boolean[][] createNavigationGrid() {
-        int gridCols = (int) Math.ceil(Constants.GAME_WIDTH / GRID_SIZE);
-        int gridRows = (int) Math.ceil(Constants.GAME_HEIGHT / GRID_SIZE);
-        boolean[][] grid = new boolean[gridCols][gridRows];
-
-        for (Obstacle obstacle : obstacles) {
-            int startX = (int) (obstacle.getPosition().x / GRID_SIZE);
-            int startY = (int) (obstacle.getPosition().y / GRID_SIZE);
-            int endX = (int) Math.ceil((obstacle.getPosition().x + obstacle.getWidth()) / GRID_SIZE);
-            int endY = (int) Math.ceil((obstacle.getPosition().y + obstacle.getHeight()) / GRID_SIZE);
-
-            for (int x = startX; x < endX && x < gridCols; x++) {
-                for (int y = startY; y < endY && y < gridRows; y++) {
-                    grid[x][y] = true;
-                }
-            }
+    // The last projectile moves into the freed slot, so its timer is pointed at the new slot.
+    private void removeProjectile(int slot) {
+        int last = projectiles.size() - 1;
+        if (slot != last) {
+            projectileTimers.setPayload(projectiles.getExpiryTimer(last), slot);
         }
-
-        return grid;
+        projectiles.remove(slot);
     }
 
-    private void floodFill(boolean[][] grid, boolean[][] visited, int x, int y) {
-        if (x < 0 || x >= grid.length || y < 0 || y >= grid[0].length ||
-                grid[x][y] || visited[x][y]) {
-            return;
+    private boolean isProjectileSpent(int slot) {
+        double x = projectiles.getX(slot);
+        double y = projectiles.getY(slot);
+        if (x < 0 || x > Constants.GAME_WIDTH || y < 0 || y > Constants.GAME_HEIGHT) {
+            return true;
+        }
+        if (obstacleIndex.collides(x, y, Constants.PROJECTILE_SIZE, Constants.PROJECTILE_SIZE)) {
+            return true;
         }
 
-        visited[x][y] = true;
-
-        floodFill(grid, visited, x + 1, y);
-        floodFill(grid, visited, x - 1, y);
-        floodFill(grid, visited, x, y + 1);
-        floodFill(grid, visited, x, y - 1);
-    }
-
-    public void update() {
-        playerInputs.forEach((id, input) -> {
-            Player player = players.get(id);
-            if (player != null) {
-                Vector2D oldPosition = new Vector2D(player.getPosition());
-                player.update(input);
-
-                for (Obstacle obstacle : obstacles) {
-                    if (obstacle.collidesWith(player.getPosition(), Constants.PLAYER_SIZE, Constants.PLAYER_SIZE)) {
-                        player.setPosition(oldPosition);
-                        break;
-                    }
-                }
-            }
-        });
-
-        List<Projectile> projectilesToRemove = new ArrayList<>();
-
-        for (Projectile projectile : projectiles) {
-            projectile.update();
-
-            if (projectile.isOutOfBounds()) {
-                projectilesToRemove.add(projectile);
-                continue;
-            }
-
-            boolean hitObstacle = obstacles.stream()
-                    .anyMatch(obstacle -> obstacle.collidesWith(
-                            projectile.getPosition(),
-                            Constants.PROJECTILE_SIZE,
-                            Constants.PROJECTILE_SIZE
-                    ));
-
-            if (hitObstacle) {
-                projectilesToRemove.add(projectile);
-                continue;
-            }
-
-            for (Player player : players.values()) {
-                if (player.getId() != projectile.getPlayer().getId() &&
-                        player.isAlive() &&
-                        projectile.collidesWith(player)) {
-                    player.damage(10);
-                    projectilesToRemove.add(projectile);
-                    break;
-                }
+        playerGrid.query(x - Constants.PLAYER_SIZE, y - Constants.PLAYER_SIZE,
+                x + Constants.PROJECTILE_SIZE, y + Constants.PROJECTILE_SIZE, nearbyPlayers);
+        int ownerId = projectiles.getOwnerId(slot);
+        for (Player player : nearbyPlayers) {
+            Vector2D position = player.getPosition();
+            if (player.getId() != ownerId && player.isAlive() &&
+                    CollisionUtils.overlaps(x, y, PROJECTILE_HIT_SIZE, PROJECTILE_HIT_SIZE,
+                            position.x, position.y, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE)) {
+                player.damage(Constants.PROJECTILE_DAMAGE);
+                return true;
             }
         }
-
-        projectiles.removeAll(projectilesToRemove);
+        return false;
     }
 
-    public void addPlayer(int id) {
+    public synchronized void addPlayer(int id) {
         Vector2D spawnPoint = findBestSpawnPoint();
-        Player newPlayer = new Player(id, players);
+        Player newPlayer = new Player(id, playerGrid);
         newPlayer.setPosition(spawnPoint);
+        newPlayer.attachToGrid();
         players.put(id, newPlayer);
-        playerInputs.put(id, new Player.Input());
+        tickOrder.add(newPlayer);
+        if (recorder != null) {
+            recorder.recordJoin(tick, id);
+        }
     }
 
     private Vector2D findBestSpawnPoint() {
@@ -271,8 +180,8 @@ public class GameState implements Serializable {
             }
         }
 
-        double randomOffsetX = ThreadLocalRandom.current().nextDouble(-20, 20);
-        double randomOffsetY = ThreadLocalRandom.current().nextDouble(-20, 20);
+        double randomOffsetX = spawnRandom.nextDouble(-20, 20);
+        double randomOffsetY = spawnRandom.nextDouble(-20, 20);
         return new Vector2D(
                 bestSpawnPoint.x + randomOffsetX,
                 bestSpawnPoint.y + randomOffsetY
@@ -285,49 +194,167 @@ public class GameState implements Serializable {
         return Math.sqrt(dx * dx + dy * dy);
     }
 
-    public void removePlayer(int id) {
-        players.remove(id);
-        playerInputs.remove(id);
+    public synchronized void removePlayer(int id) {
+        Player player = players.remove(id);
+        if (player != null) {
+            player.detachFromGrid();
+            tickOrder.remove(player);
+            if (recorder != null) {
+                recorder.recordLeave(tick, id);
+            }
+        }
     }
 
+    /**
+     * Queues an input for the player's next ticks. Only the player's own connection thread may call this.
+     */
     public void updatePlayerInput(int playerId, Player.Input input) {
-        playerInputs.put(playerId, input);
         Player player = players.get(playerId);
-
-        if (input.shooting && player != null && player.isAlive()) {
-            addProjectile(player);
+        if (player != null && !player.queueInput(input)) {
+            System.err.println("Dropping input " + input.sequence + " from player " + playerId + ", input buffer is full");
         }
     }
 
-    private void addProjectile(Player player) {
-        Vector2D position = new Vector2D(
-                player.getPosition().x + Constants.PLAYER_SIZE / 2,
-                player.getPosition().y + Constants.PLAYER_SIZE / 2
-        );
-        Vector2D velocity = new Vector2D(0, 0);
-        Player.Input playerInput = playerInputs.get(player.getId());
+    private void addProjectile(Player player, Player.Input playerInput) {
+        double x = player.getPosition().x + Constants.PLAYER_SIZE / 2;
+        double y = player.getPosition().y + Constants.PLAYER_SIZE / 2;
+        double velocityX = 0;
+        double velocityY = 0;
 
         if (playerInput.isMoving() || player.getLastDirection() != null) {
             if (playerInput.right || player.getLastDirection() == Player.Direction.RIGHT) {
-                velocity.x = Constants.PROJECTILE_SPEED;
+                velocityX = Constants.PROJECTILE_SPEED;
             } else if (playerInput.left || player.getLastDirection() == Player.Direction.LEFT) {
-                velocity.x = -Constants.PROJECTILE_SPEED;
+                velocityX = -Constants.PROJECTILE_SPEED;
             } else if (playerInput.up || player.getLastDirection() == Player.Direction.UP) {
-                velocity.y = -Constants.PROJECTILE_SPEED;
+                velocityY = -Constants.PROJECTILE_SPEED;
             } else if (playerInput.down || player.getLastDirection() == Player.Direction.DOWN) {
-                velocity.y = Constants.PROJECTILE_SPEED;
+                velocityY = Constants.PROJECTILE_SPEED;
             }
 
-            projectiles.add(new Projectile(player, position, velocity));
+            // Spawned as of the previous tick so this tick's step puts it one velocity ahead of the origin.
+            int timer = projectileTimers.schedule(projectileLifetimeTicks, projectiles.size());
+            projectiles.spawn(player.getId(), x, y, velocityX, velocityY, tick - 1, timer);
+        }
+    }
+
+    public synchronized Snapshot createSnapshot() {
+        List<Snapshot.PlayerState> playerStates = new ArrayList<>(players.size());
+        for (Player player : players.values()) {
+            playerStates.add(new Snapshot.PlayerState(player));
+        }
+
+        List<Snapshot.ProjectileState> projectileStates = new ArrayList<>(projectiles.size());
+        for (int slot = 0; slot < projectiles.size(); slot++) {
+            projectileStates.add(createProjectileState(slot));
         }
+
+        return new Snapshot(tick, playerStates, projectileStates);
+    }
+
+    /**
+     * Snapshot of what one player can see: the players and projectiles its interest set admits, found
+     * through the player grid and a grid of projectile positions built once per tick. Returns null if
+     * the player has left.
+     */
+    public synchronized Snapshot createSnapshot(int viewerId, InterestSet interest) {
+        Player viewer = players.get(viewerId);
+        if (viewer == null) {
+            return null;
+        }
+        double centerX = viewer.getPosition().x;
+        double centerY = viewer.getPosition().y;
+        double reach = interest.getReach();
+
+        List<Snapshot.PlayerState> playerStates = new ArrayList<>();
+        playerGrid.query(centerX - reach, centerY - reach, centerX + reach, centerY + reach, nearbyPlayers);
+        for (Player player : nearbyPlayers) {
+            Vector2D position = player.getPosition();
+            if (interest.admitPlayer(player.getId(), position.x - centerX, position.y - centerY)) {
+                playerStates.add(new Snapshot.PlayerState(player));
+            }
+        }
+
+        indexProjectiles();
+        List<Snapshot.ProjectileState> projectileStates = new ArrayList<>();
+        projectileGrid.query(centerX - reach, centerY - reach, centerX + reach, centerY + reach, nearbyProjectiles);
+        for (Snapshot.ProjectileState projectile : nearbyProjectiles) {
+            if (interest.admitProjectile(projectile.id,
+                    projectile.getX(tick) - centerX, projectile.getY(tick) - centerY)) {
+                projectileStates.add(projectile);
+            }
+        }
+        interest.commit();
+
+        return new Snapshot(tick, playerStates, projectileStates);
+    }
+
+    private void indexProjectiles() {
+        if (projectileGridTick == tick) {
+            return;
+        }
+        projectileGrid.clear();
+        for (int slot = 0; slot < projectiles.size(); slot++) {
+            projectileGrid.insert(createProjectileState(slot), projectiles.getX(slot), projectiles.getY(slot));
+        }
+        projectileGridTick = tick;
+    }
+
+    private Snapshot.ProjectileState createProjectileState(int slot) {
+        return new Snapshot.ProjectileState(projectiles.getId(slot), projectiles.getOwnerId(slot),
+                projectiles.getSpawnTick(slot), projectiles.getOriginX(slot), projectiles.getOriginY(slot),
+                projectiles.getVelocityX(slot), projectiles.getVelocityY(slot));
+    }
+
+    /**
+     * Starts logging joins, leaves and applied inputs to the recorder, or stops when it is null. Once this
+     * returns, the previous recorder gets no more records and can be closed.
+     */
+    public synchronized void setRecorder(MatchRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * How many queued inputs a player may carry into the next tick before the extra ones are applied at
+     * once. A replay sets zero, since it queues exactly the inputs each recorded tick applied.
+     */
+    synchronized void setMaxInputBacklog(int inputs) {
+        this.maxInputBacklog = inputs;
+    }
+
+    /**
+     * Hash of the simulated state, compared by {@link MatchReplayer} against the recorded one.
+     */
+    synchronized long checksum() {
+        long hash = tick;
+        for (Player player : tickOrder) {
+            hash = hash * 31 + player.getId();
+            hash = hash * 31 + Double.doubleToLongBits(player.getPosition().x);
+            hash = hash * 31 + Double.doubleToLongBits(player.getPosition().y);
+            hash = hash * 31 + player.getHealth();
+        }
+        for (int slot = 0; slot < projectiles.size(); slot++) {
+            hash = hash * 31 + projectiles.getId(slot);
+            hash = hash * 31 + Double.doubleToLongBits(projectiles.getX(slot));
+            hash = hash * 31 + Double.doubleToLongBits(projectiles.getY(slot));
+        }
+        return hash;
+    }
+
+    public int getTick() {
+        return tick;
     }
 
     public Map<Integer, Player> getPlayers() {
         return new HashMap<>(players);
     }
 
-    public List<Projectile> getProjectiles() {
-        return new ArrayList<>(projectiles);
+    public synchronized int getProjectileCount() {
+        return projectiles.size();
+    }
+
+    public ObstacleIndex getObstacleIndex() {
+        return obstacleIndex;
     }
 
     public List<Obstacle> getObstacles() {
@@ -338,8 +365,7 @@ public class GameState implements Serializable {
     public String toString() {
         return "GameState{" +
                 "players=" + players +
-                ", projectiles=" + projectiles +
-                ", playerInputs=" + playerInputs +
+                ", projectiles=" + projectiles.size() +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.battle_royale.game;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The players and projectiles one client is currently sent. An entity enters once it is within the view
+ * radius of the client's player and only leaves again beyond the radius plus the hysteresis margin, so
+ * entities near the edge do not pop in and out between snapshots.
+ * Not thread-safe; only the match tick thread uses it.
+ */
+public class InterestSet {
+    private final double radius;
+    private final double hysteresis;
+    private Set<Integer> players = new HashSet<>();
+    private Set<Integer> projectiles = new HashSet<>();
+    private Set<Integer> nextPlayers = new HashSet<>();
+    private Set<Integer> nextProjectiles = new HashSet<>();
+
+    public InterestSet(double radius, double hysteresis) {
+        this.radius = radius;
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Distance beyond which nothing can be admitted, for the broad-phase query.
+     */
+    public double getReach() {
+        return radius + hysteresis;
+    }
+
+    public boolean admitPlayer(int id, double dx, double dy) {
+        return admit(players, nextPlayers, id, dx, dy);
+    }
+
+    public boolean admitProjectile(int id, double dx, double dy) {
+        return admit(projectiles, nextProjectiles, id, dx, dy);
+    }
+
+    /**
+     * Makes everything admitted since the last commit the current set. Anything not admitted again has left.
+     */
+    public void commit() {
+        Set<Integer> previousPlayers = players;
+        players = nextPlayers;
+        nextPlayers = previousPlayers;
+        nextPlayers.clear();
+
+        Set<Integer> previousProjectiles = projectiles;
+        projectiles = nextProjectiles;
+        nextProjectiles = previousProjectiles;
+        nextProjectiles.clear();
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    public int getProjectileCount() {
+        return projectiles.size();
+    }
+
+    private boolean admit(Set<Integer> current, Set<Integer> next, int id, double dx, double dy) {
+        double reach = current.contains(id) ? radius + hysteresis : radius;
+        if (dx * dx + dy * dy > reach * reach) {
+            return false;
+        }
+        next.add(id);
+        return true;
+    }
+}
@@ -0,0 +1,109 @@
+package com.battle_royale.game;
+
+import com.battle_royale.network.Snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recent snapshots stamped with their arrival time, sampled at a fixed delay behind the server so
+ * there is usually a newer snapshot to interpolate towards even at low send rates. Server ticks are
+ * mapped to local time through the fastest arrival seen, which drifts slowly to follow clock skew.
+ * When no newer snapshot has arrived yet, players keep moving at their last velocity for a short
+ * while before they are held in place.
+ * Not thread-safe.
+ */
+public class InterpolationBuffer {
+    private static final int CAPACITY = 32;
+    private static final double CLOCK_DRIFT_RATE = 0.01;
+    private static final double TELEPORT_DISTANCE = 50;
+
+    private final Snapshot[] snapshots = new Snapshot[CAPACITY];
+    private final long tickNanos;
+    private final double delayTicks;
+    private final double maxExtrapolationTicks;
+    private int newest = -1;
+    private int count;
+    private double clockOffset;
+    private double renderTick;
+
+    public InterpolationBuffer(double tickRate, long delayMs, long maxExtrapolationMs) {
+        this.tickNanos = Math.round(1_000_000_000L / tickRate);
+        this.delayTicks = delayMs * 1_000_000.0 / tickNanos;
+        this.maxExtrapolationTicks = maxExtrapolationMs * 1_000_000.0 / tickNanos;
+    }
+
+    public void add(Snapshot snapshot, long arrivalNanos) {
+        if (count > 0 && snapshot.getTick() <= snapshots[newest].getTick()) {
+            return;
+        }
+        double offset = arrivalNanos - (double) snapshot.getTick() * tickNanos;
+        if (count == 0 || offset < clockOffset) {
+            clockOffset = offset;
+        } else {
+            clockOffset += (offset - clockOffset) * CLOCK_DRIFT_RATE;
+        }
+        newest = (newest + 1) % CAPACITY;
+        snapshots[newest] = snapshot;
+        count = Math.min(count + 1, CAPACITY);
+    }
+
+    /**
+     * Builds the state to draw at {@code nowNanos}. Projectiles are taken from the snapshot being
+     * interpolated towards and should be drawn at {@link #getRenderTick()}, skipping any that
+     * have not been fired by then.
+     */
+    public Snapshot sample(long nowNanos) {
+        if (count == 0) {
+            return null;
+        }
+        Snapshot latest = snapshots[newest];
+        renderTick = (nowNanos - clockOffset) / tickNanos - delayTicks;
+
+        Snapshot from = null;
+        Snapshot to = null;
+        for (int i = 0; i < count; i++) {
+            Snapshot snapshot = snapshots[Math.floorMod(newest - i, CAPACITY)];
+            if (snapshot.getTick() <= renderTick) {
+                from = snapshot;
+                break;
+            }
+            to = snapshot;
+        }
+
+        if (from == null) {
+            // Render tick is older than anything buffered.
+            renderTick = to.getTick();
+            return to;
+        }
+        if (to == null) {
+            if (count < 2) {
+                renderTick = latest.getTick();
+                return latest;
+            }
+            // Nothing newer yet: extrapolate from the previous snapshot, for a limited time.
+            renderTick = Math.min(renderTick, latest.getTick() + maxExtrapolationTicks);
+            to = latest;
+            from = snapshots[Math.floorMod(newest - 1, CAPACITY)];
+        }
+
+        double alpha = (renderTick - from.getTick()) / (to.getTick() - from.getTick());
+        List<Snapshot.PlayerState> players = new ArrayList<>(to.getPlayers().size());
+        for (Snapshot.PlayerState target : to.getPlayers()) {
+            Snapshot.PlayerState start = from.getPlayer(target.id);
+            if (start == null || Math.abs(target.x - start.x) + Math.abs(target.y - start.y) > TELEPORT_DISTANCE) {
+                players.add(target);
+            } else {
+                players.add(new Snapshot.PlayerState(target.id,
+                        start.x + (target.x - start.x) * alpha,
+                        start.y + (target.y - start.y) * alpha,
+                        target.health, target.alive, target.direction, target.lastProcessedInput));
+            }
+        }
+        return new Snapshot((int) Math.floor(renderTick), players, to.getProjectiles());
+    }
+
+    public double getRenderTick() {
+        return renderTick;
+    }
+}
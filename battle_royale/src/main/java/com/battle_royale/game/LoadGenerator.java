@@ -0,0 +1,420 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Player;
+import com.battle_royale.network.GamePacket;
+import com.battle_royale.network.PacketCodec;
+import com.battle_royale.network.PacketType;
+import com.battle_royale.network.Snapshot;
+import com.battle_royale.network.SnapshotDelta;
+import com.battle_royale.network.SnapshotHistory;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Headless bots for load testing a {@link GameServer}. Each bot is a plain socket speaking the real
+ * protocol: it joins, downloads the map, sends an input every client tick, applies full and delta states
+ * and acknowledges them. Bots run on virtual threads, so one process can drive hundreds of players.
+ * <p>
+ * Prints the aggregate state rate and bandwidth every second, and at the end the state inter-arrival
+ * times and input-to-state latency, the time from sending an input to receiving the first state in which
+ * the server has applied it.
+ * <p>
+ * Options: {@code --host=localhost --port=5000 --bots=100 --seconds=30 --ramp-ms=2000 --match=<id>
+ * --movement=random|patrol --seed=1}.
+ */
+public class LoadGenerator {
+    private static final int SNAPSHOT_HISTORY_SIZE = 64;
+    private static final int INPUT_HISTORY_SIZE = 1024;
+    private static final double PATROL_LEG_SECONDS = 1;
+    private static final long HANDSHAKE_POLL_MS = 10;
+
+    public enum Movement { RANDOM, PATROL }
+
+    private String host = "localhost";
+    private int port = 5000;
+    private int bots = 100;
+    private int seconds = 30;
+    private long rampMs = 2000;
+    private Integer matchId;
+    private Movement movement = Movement.RANDOM;
+    private long seed = 1;
+
+    private final LongAdder states = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder inputsSent = new LongAdder();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<Bot> running = new ArrayList<>();
+    private volatile boolean isRunning = true;
+
+    public static LoadGenerator fromArgs(String[] args) {
+        LoadGenerator generator = new LoadGenerator();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (!arg.startsWith("--") || parts.length != 2) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            String value = parts[1];
+            switch (parts[0]) {
+                case "--host":
+                    generator.host = value;
+                    break;
+                case "--port":
+                    generator.port = Integer.parseInt(value);
+                    break;
+                case "--bots":
+                    generator.bots = Integer.parseInt(value);
+                    break;
+                case "--seconds":
+                    generator.seconds = Integer.parseInt(value);
+                    break;
+                case "--ramp-ms":
+                    generator.rampMs = Long.parseLong(value);
+                    break;
+                case "--match":
+                    generator.matchId = Integer.valueOf(value);
+                    break;
+                case "--movement":
+                    generator.movement = Movement.valueOf(value.toUpperCase());
+                    break;
+                case "--seed":
+                    generator.seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + parts[0]);
+            }
+        }
+        return generator;
+    }
+
+    public void run() throws InterruptedException {
+        System.out.println("Starting " + bots + " bots against " + host + ":" + port + " for " + seconds + "s (" +
+                movement.name().toLowerCase() + " movement)");
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < bots; i++) {
+            Bot bot = new Bot(i, seeds.split());
+            running.add(bot);
+            long delayMs = bots > 1 ? rampMs * i / (bots - 1) : 0;
+            threads.add(Thread.ofVirtual().name("bot-" + i).start(() -> bot.run(delayMs)));
+        }
+
+        long end = start + seconds * 1_000_000_000L;
+        long lastStates = 0;
+        long lastBytes = 0;
+        for (int second = 1; System.nanoTime() < end; second++) {
+            Thread.sleep(Math.min(1000, Math.max(1, (end - System.nanoTime()) / 1_000_000)));
+            long totalStates = states.sum();
+            long totalBytes = bytesReceived.sum();
+            System.out.printf("[%3ds] %d connected, %d failed, %d states/s, %.1f KB/s received%n", second,
+                    connected.get(), failed.get(), totalStates - lastStates, (totalBytes - lastBytes) / 1024.0);
+            lastStates = totalStates;
+            lastBytes = totalBytes;
+        }
+        isRunning = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report((System.nanoTime() - start) / 1e9);
+    }
+
+    private void report(double elapsedSeconds) {
+        Samples interArrival = new Samples();
+        Samples latency = new Samples();
+        int dropped = 0;
+        for (Bot bot : running) {
+            interArrival.addAll(bot.interArrival);
+            latency.addAll(bot.latency);
+            dropped += bot.droppedDeltas;
+        }
+        interArrival.sort();
+        latency.sort();
+
+        System.out.printf("%d bots, %d states (%.0f/s), %d inputs sent, %.1f KB received (%.1f KB/s, %.1f KB/s per bot)%n",
+                bots, states.sum(), states.sum() / elapsedSeconds, inputsSent.sum(), bytesReceived.sum() / 1024.0,
+                bytesReceived.sum() / 1024.0 / elapsedSeconds, bytesReceived.sum() / 1024.0 / elapsedSeconds / Math.max(1, bots));
+        if (dropped > 0) {
+            System.out.println(dropped + " deltas dropped for a missing baseline");
+        }
+        System.out.println("State inter-arrival ms: " + interArrival.summary() +
+                String.format(", jitter %.2f", interArrival.meanAbsoluteDeviation() / 1e6));
+        System.out.println("Input-to-state latency ms: " + latency.summary());
+    }
+
+    private class Bot {
+        private final int index;
+        private final SplittableRandom random;
+        private final SnapshotHistory history = new SnapshotHistory(SNAPSHOT_HISTORY_SIZE);
+        private final long[] inputSentNanos = new long[INPUT_HISTORY_SIZE];
+        private final Samples interArrival = new Samples();
+        private final Samples latency = new Samples();
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private DataOutputStream out;
+        private volatile int playerId = -1;
+        private volatile double tickRate;
+        private volatile int lastServerTick;
+        private volatile int sequence;
+        private int lastAppliedInput;
+        private long lastStateNanos;
+        private int droppedDeltas;
+
+        Bot(int index, SplittableRandom random) {
+            this.index = index;
+            this.random = random;
+        }
+
+        void run(long delayMs) {
+            try {
+                Thread.sleep(delayMs);
+                Thread reader;
+                try (Socket socket = new Socket(host, port)) {
+                    socket.setTcpNoDelay(true);
+                    out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                    connected.incrementAndGet();
+                    send(new GamePacket(PacketType.PLAYER_JOIN, matchId));
+
+                    reader = Thread.ofVirtual().name("bot-reader-" + index).start(() -> readLoop(in));
+                    inputLoop();
+                } finally {
+                    connected.decrementAndGet();
+                }
+                // Closing the socket above is what ends the reader's blocking read.
+                reader.join();
+            } catch (IOException e) {
+                failed.incrementAndGet();
+                System.err.println("Bot " + index + " failed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void inputLoop() throws IOException, InterruptedException {
+            // Inputs are sent at the server's tick rate, which arrives with the join handshake.
+            while (isRunning && (tickRate <= 0 || playerId < 0)) {
+                Thread.sleep(HANDSHAKE_POLL_MS);
+            }
+            TickScheduler ticks = new TickScheduler(tickRate, 1);
+            int legTicks = Math.max(1, (int) Math.round(PATROL_LEG_SECONDS * tickRate));
+            int changeOdds = Math.max(1, (int) (tickRate / 2));
+            Player.Input held = new Player.Input();
+            boolean firing = false;
+            int tick = 0;
+            while (isRunning) {
+                ticks.awaitNextTicks();
+                held = nextMove(held, tick++, legTicks, changeOdds);
+
+                Player.Input input = new Player.Input();
+                input.up = held.up;
+                input.down = held.down;
+                input.left = held.left;
+                input.right = held.right;
+                // The server fires once per press, so holding fire is sent as repeated taps.
+                firing = held.shooting && !firing;
+                input.shooting = firing;
+                input.sequence = sequence + 1;
+                input.tick = lastServerTick;
+                inputSentNanos[input.sequence % INPUT_HISTORY_SIZE] = System.nanoTime();
+                sequence = input.sequence;
+                send(new GamePacket(PacketType.PLAYER_INPUT, input));
+                inputsSent.increment();
+            }
+        }
+
+        private Player.Input nextMove(Player.Input held, int tick, int legTicks, int changeOdds) {
+            if (movement == Movement.PATROL) {
+                if (tick % legTicks != 0) {
+                    return held;
+                }
+                Player.Input next = new Player.Input();
+                switch ((tick / legTicks + index) % 4) {
+                    case 0:
+                        next.right = true;
+                        break;
+                    case 1:
+                        next.down = true;
+                        break;
+                    case 2:
+                        next.left = true;
+                        break;
+                    default:
+                        next.up = true;
+                        break;
+                }
+                next.shooting = true;
+                return next;
+            }
+            if (tick > 0 && random.nextInt(changeOdds) != 0) {
+                return held;
+            }
+            Player.Input next = new Player.Input();
+            // One in five moves is standing still.
+            switch (random.nextInt(5)) {
+                case 0:
+                    next.up = true;
+                    break;
+                case 1:
+                    next.down = true;
+                    break;
+                case 2:
+                    next.left = true;
+                    break;
+                case 3:
+                    next.right = true;
+                    break;
+                default:
+                    break;
+            }
+            next.shooting = random.nextInt(3) == 0;
+            return next;
+        }
+
+        private void readLoop(DataInputStream in) {
+            try {
+                while (true) {
+                    int length = in.readInt();
+                    PacketCodec.checkFrameLength(length);
+                    byte[] frame = new byte[length];
+                    in.readFully(frame);
+                    bytesReceived.add(PacketCodec.HEADER_SIZE + length);
+                    handlePacket(PacketCodec.decode(ByteBuffer.wrap(frame)));
+                }
+            } catch (IOException e) {
+                if (isRunning) {
+                    System.err.println("Bot " + index + " disconnected: " + e.getMessage());
+                }
+            }
+        }
+
+        private void handlePacket(GamePacket packet) throws IOException {
+            switch (packet.type) {
+                case TICK_RATE:
+                    tickRate = (Double) packet.data;
+                    break;
+                case PLAYER_ID_ASSIGN:
+                    playerId = (Integer) packet.data;
+                    break;
+                case MAP_HASH:
+                    // Bots keep no map cache, so every bot downloads the map like a first-time player.
+                    send(new GamePacket(PacketType.MAP_REQUEST, packet.data));
+                    break;
+                case GAME_STATE:
+                    applyState((Snapshot) packet.data);
+                    break;
+                case GAME_STATE_DELTA:
+                    SnapshotDelta delta = (SnapshotDelta) packet.data;
+                    Snapshot baseline = history.get(delta.getBaselineTick());
+                    if (baseline == null) {
+                        droppedDeltas++;
+                        break;
+                    }
+                    applyState(delta.applyTo(baseline));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void applyState(Snapshot state) throws IOException {
+            long now = System.nanoTime();
+            states.increment();
+            if (lastStateNanos != 0) {
+                interArrival.add(now - lastStateNanos);
+            }
+            lastStateNanos = now;
+
+            Snapshot.PlayerState self = state.getPlayer(playerId);
+            if (self != null) {
+                int applied = Math.min(self.lastProcessedInput, sequence);
+                // Older inputs than the history holds were skipped over and are not counted.
+                for (int input = Math.max(lastAppliedInput + 1, applied - INPUT_HISTORY_SIZE + 1); input <= applied; input++) {
+                    latency.add(now - inputSentNanos[input % INPUT_HISTORY_SIZE]);
+                }
+                lastAppliedInput = Math.max(lastAppliedInput, applied);
+            }
+
+            history.add(state);
+            lastServerTick = state.getTick();
+            send(new GamePacket(PacketType.STATE_ACK, state.getTick()));
+        }
+
+        // A lock rather than synchronized, so a bot blocked on its socket does not pin a carrier thread.
+        private void send(GamePacket packet) throws IOException {
+            sendLock.lock();
+            try {
+                PacketCodec.write(out, packet);
+            } finally {
+                sendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Durations in nanoseconds collected by one thread and merged for the report.
+     */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        double meanAbsoluteDeviation() {
+            if (size == 0) {
+                return 0;
+            }
+            double mean = 0;
+            for (int i = 0; i < size; i++) {
+                mean += values[i];
+            }
+            mean /= size;
+            double deviation = 0;
+            for (int i = 0; i < size; i++) {
+                deviation += Math.abs(values[i] - mean);
+            }
+            return deviation / size;
+        }
+
+        private double percentileMillis(double percentile) {
+            int index = (int) Math.min(size - 1, Math.ceil(percentile / 100 * size) - 1);
+            return values[Math.max(0, index)] / 1e6;
+        }
+
+        String summary() {
+            if (size == 0) {
+                return "no samples";
+            }
+            return String.format("p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f (%d samples)",
+                    percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                    values[size - 1] / 1e6, size);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        fromArgs(args).run();
+    }
+}
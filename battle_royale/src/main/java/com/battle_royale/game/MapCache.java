@@ -0,0 +1,73 @@
+package com.battle_royale.game;
+
+import com.battle_royale.network.GamePacket;
+import com.battle_royale.network.MapManifest;
+import com.battle_royale.network.PacketCodec;
+import com.battle_royale.network.PacketType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map manifests the client has received, kept in memory and on disk by hash so reconnects and repeated
+ * maps skip the download. Files hold the manifest in its wire encoding and are checked against their
+ * hash when read, so a damaged file is downloaded again rather than used.
+ */
+public class MapCache {
+    private final Path directory;
+    private final Map<Long, MapManifest> manifests = new HashMap<>();
+
+    public MapCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".battle_royale", "maps");
+    }
+
+    public synchronized MapManifest get(long hash) {
+        MapManifest manifest = manifests.get(hash);
+        if (manifest != null) {
+            return manifest;
+        }
+        Path file = fileFor(hash);
+        try {
+            GamePacket packet = PacketCodec.decode(ByteBuffer.wrap(Files.readAllBytes(file)));
+            manifest = packet.type == PacketType.MAP_MANIFEST ? (MapManifest) packet.data : null;
+            if (manifest == null || manifest.getHash() != hash || !manifest.isIntact()) {
+                System.err.println("Ignoring damaged cached map " + file);
+                return null;
+            }
+            manifests.put(hash, manifest);
+            return manifest;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Could not read cached map " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized void put(MapManifest manifest) {
+        manifests.put(manifest.getHash(), manifest);
+        ByteBuffer frame = PacketCodec.encode(new GamePacket(PacketType.MAP_MANIFEST, manifest));
+        frame.position(PacketCodec.HEADER_SIZE);
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        try {
+            Files.createDirectories(directory);
+            Files.write(fileFor(manifest.getHash()), bytes);
+        } catch (IOException e) {
+            System.err.println("Could not cache map " + manifest.getHashHex() + ": " + e.getMessage());
+        }
+    }
+
+    private Path fileFor(long hash) {
+        return directory.resolve(String.format("%016x.map", hash));
+    }
+}
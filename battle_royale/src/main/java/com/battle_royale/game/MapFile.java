@@ -0,0 +1,116 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Vector2D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pre-generated maps stored back to back: a header, then for each map its seed, obstacle count and the
+ * obstacles as four doubles each. Files are read through a memory mapping, so loading them costs little
+ * more than parsing the obstacles.
+ * <p>
+ * Run with {@code <file> <count> [firstSeed]} to generate a file of {@code count} maps with consecutive seeds.
+ */
+public final class MapFile {
+    private static final int MAGIC = 0x42524D50;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4;
+    private static final int MAP_HEADER_SIZE = 8 + 4;
+    private static final int OBSTACLE_SIZE = 4 * 8;
+
+    private MapFile() {}
+
+    public static void write(Path path, List<GameMap> maps) throws IOException {
+        int size = HEADER_SIZE;
+        for (GameMap map : maps) {
+            size += MAP_HEADER_SIZE + map.getObstacles().size() * OBSTACLE_SIZE;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(maps.size());
+        for (GameMap map : maps) {
+            buffer.putLong(map.getSeed());
+            buffer.putInt(map.getObstacles().size());
+            for (Obstacle obstacle : map.getObstacles()) {
+                buffer.putDouble(obstacle.getPosition().x);
+                buffer.putDouble(obstacle.getPosition().y);
+                buffer.putDouble(obstacle.getWidth());
+                buffer.putDouble(obstacle.getHeight());
+            }
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public static List<GameMap> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a map file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported map file version " + version);
+            }
+            int count = buffer.getInt();
+            List<GameMap> maps = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < MAP_HEADER_SIZE) {
+                    throw new IOException(path + " is truncated at map " + i);
+                }
+                long seed = buffer.getLong();
+                int obstacleCount = buffer.getInt();
+                if (obstacleCount < 0 || buffer.remaining() < (long) obstacleCount * OBSTACLE_SIZE) {
+                    throw new IOException(path + " is truncated at map " + i);
+                }
+                List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+                for (int j = 0; j < obstacleCount; j++) {
+                    Vector2D position = new Vector2D(buffer.getDouble(), buffer.getDouble());
+                    obstacles.add(new Obstacle(position, buffer.getDouble(), buffer.getDouble()));
+                }
+                maps.add(new GameMap(seed, obstacles, 0));
+            }
+            return maps;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: MapFile <file> <count> [firstSeed]");
+            return;
+        }
+        Path path = Path.of(args[0]);
+        int count = Integer.parseInt(args[1]);
+        long firstSeed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        List<GameMap> maps = new ArrayList<>(count);
+        long slowest = 0;
+        long slowestSeed = firstSeed;
+        for (int i = 0; i < count; i++) {
+            GameMap map = GameMap.generate(firstSeed + i);
+            maps.add(map);
+            if (map.getGenerationNanos() > slowest) {
+                slowest = map.getGenerationNanos();
+                slowestSeed = map.getSeed();
+            }
+        }
+        write(path, maps);
+        System.out.println("Wrote " + count + " maps (seeds " + firstSeed + ".." + (firstSeed + count - 1) + ") to " +
+                path + ", slowest was seed " + slowestSeed + " at " + slowest / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,102 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Vector2D;
+import com.battle_royale.utils.NavigationGrid;
+import com.battle_royale.utils.SpatialGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Places random obstacles that keep their distance from each other and from the spawn points and never
+ * cut the walkable area in two. Candidates are checked against nearby obstacles only, through a grid
+ * whose cells are as large as the largest distance that can reject a candidate, and walkability is kept
+ * up to date in a {@link NavigationGrid} as obstacles are accepted. The work per attempt therefore does
+ * not grow with the map size.
+ */
+public class MapGenerator {
+    private static final double NAVIGATION_CELL_SIZE = 20;
+    private static final double MIN_OBSTACLE_SIZE = 30;
+    private static final double MAX_OBSTACLE_SIZE = 80;
+    private static final double MIN_GAP = 20;
+    private static final double EDGE_MARGIN = 50;
+    private static final double SPAWN_SAFE_ZONE_RADIUS = 100;
+    private static final int MAX_ATTEMPTS = 100_000;
+
+    private final double width;
+    private final double height;
+    private final List<Vector2D> spawnPoints;
+    private final RandomGenerator random;
+
+    public MapGenerator(double width, double height, List<Vector2D> spawnPoints, RandomGenerator random) {
+        this.width = width;
+        this.height = height;
+        this.spawnPoints = spawnPoints;
+        this.random = random;
+    }
+
+    public List<Obstacle> generate(int count, double minDistance) {
+        double reach = Math.max(minDistance, MAX_OBSTACLE_SIZE + MIN_GAP);
+        SpatialGrid<Obstacle> placed = new SpatialGrid<>(width, height, reach);
+        NavigationGrid navigation = new NavigationGrid(width, height, NAVIGATION_CELL_SIZE);
+        List<Obstacle> obstacles = new ArrayList<>(count);
+        List<Obstacle> nearby = new ArrayList<>();
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && obstacles.size() < count; attempt++) {
+            double obstacleWidth = random.nextDouble(MIN_OBSTACLE_SIZE, MAX_OBSTACLE_SIZE);
+            double obstacleHeight = random.nextDouble(MIN_OBSTACLE_SIZE, MAX_OBSTACLE_SIZE);
+            double x = random.nextDouble(EDGE_MARGIN, width - obstacleWidth);
+            double y = random.nextDouble(EDGE_MARGIN, height - obstacleHeight);
+
+            if (isInSafeZone(x, y, obstacleWidth, obstacleHeight)) {
+                continue;
+            }
+            placed.query(x - reach, y - reach, x + reach, y + reach, nearby);
+            if (isTooClose(x, y, obstacleWidth, obstacleHeight, nearby, minDistance)) {
+                continue;
+            }
+            if (navigation.tryBlock(x, y, obstacleWidth, obstacleHeight)) {
+                Obstacle obstacle = new Obstacle(new Vector2D(x, y), obstacleWidth, obstacleHeight);
+                obstacles.add(obstacle);
+                placed.insert(obstacle, x, y);
+            }
+        }
+        return obstacles;
+    }
+
+    /**
+     * Rejects candidates that come within the minimum gap of an obstacle or whose corner is within the
+     * minimum distance of its corner on both axes.
+     */
+    private boolean isTooClose(double x, double y, double obstacleWidth, double obstacleHeight,
+                               List<Obstacle> nearby, double minDistance) {
+        for (Obstacle obstacle : nearby) {
+            Vector2D position = obstacle.getPosition();
+            boolean overlapping = x - MIN_GAP < position.x + obstacle.getWidth() &&
+                    x + obstacleWidth + MIN_GAP > position.x &&
+                    y - MIN_GAP < position.y + obstacle.getHeight() &&
+                    y + obstacleHeight + MIN_GAP > position.y;
+            boolean withinDistance = Math.abs(x - position.x) < minDistance && Math.abs(y - position.y) < minDistance;
+            if (overlapping || withinDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInSafeZone(double x, double y, double obstacleWidth, double obstacleHeight) {
+        for (Vector2D spawnPoint : spawnPoints) {
+            double closestX = Math.max(x, Math.min(spawnPoint.x, x + obstacleWidth));
+            double closestY = Math.max(y, Math.min(spawnPoint.y, y + obstacleHeight));
+
+            double distanceX = spawnPoint.x - closestX;
+            double distanceY = spawnPoint.y - closestY;
+            if (distanceX * distanceX + distanceY * distanceY < SPAWN_SAFE_ZONE_RADIUS * SPAWN_SAFE_ZONE_RADIUS) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
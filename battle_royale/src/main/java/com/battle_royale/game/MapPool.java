@@ -0,0 +1,58 @@
+package com.battle_royale.game;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out maps for new matches without generating them on the caller's thread. Either cycles through
+ * maps loaded from a {@link MapFile}, or keeps a few maps generated ahead on a background thread from
+ * consecutive seeds. If the background thread has fallen behind, the next map is generated inline.
+ */
+public class MapPool {
+    private final List<GameMap> loaded;
+    private final AtomicInteger nextLoaded = new AtomicInteger();
+    private final BlockingQueue<GameMap> ready;
+    private final AtomicLong nextSeed;
+
+    private MapPool(List<GameMap> loaded, int size, long firstSeed) {
+        this.loaded = loaded;
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.nextSeed = new AtomicLong(firstSeed);
+    }
+
+    public static MapPool generating(int size, long firstSeed) {
+        MapPool pool = new MapPool(null, size, firstSeed);
+        if (size > 0) {
+            Thread.ofPlatform().name("map-pool").daemon().priority(Thread.MIN_PRIORITY).start(pool::fill);
+        }
+        return pool;
+    }
+
+    public static MapPool fromMaps(List<GameMap> maps) {
+        if (maps.isEmpty()) {
+            throw new IllegalArgumentException("No maps to serve");
+        }
+        return new MapPool(List.copyOf(maps), 1, 0);
+    }
+
+    public GameMap take() {
+        if (loaded != null) {
+            return loaded.get(Math.floorMod(nextLoaded.getAndIncrement(), loaded.size()));
+        }
+        GameMap map = ready.poll();
+        return map != null ? map : GameMap.generate(nextSeed.getAndIncrement());
+    }
+
+    private void fill() {
+        try {
+            while (true) {
+                ready.put(GameMap.generate(nextSeed.getAndIncrement()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
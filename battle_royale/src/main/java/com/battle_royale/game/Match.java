@@ -0,0 +1,258 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Player;
+import com.battle_royale.network.Connection;
+import com.battle_royale.network.GamePacket;
+import com.battle_royale.network.PacketCodec;
+import com.battle_royale.network.PacketType;
+import com.battle_royale.network.Snapshot;
+import com.battle_royale.network.SnapshotDelta;
+import com.battle_royale.network.SnapshotHistory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One arena hosted by a {@link GameServer}: its own GameState, snapshot history and tick schedule.
+ * Ticks run on the server's shared match threads. Each run schedules the next one for the earliest
+ * simulation or broadcast deadline, so a match never runs concurrently with itself and is never woken
+ * just before a deadline.
+ */
+public class Match {
+    private static final int SNAPSHOT_HISTORY_SIZE = 64;
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    private static final long OVERRUN_REPORT_INTERVAL_NS = 10_000_000_000L;
+    private static final long SLOW_INPUT_DELAY_NS = 250_000_000L;
+
+    private final int id;
+    private final GameMap map;
+    private final GameState gameState;
+    private final SnapshotHistory snapshotHistory = new SnapshotHistory(SNAPSHOT_HISTORY_SIZE);
+    private final Map<Connection, Member> members = new ConcurrentHashMap<>();
+    private final TickScheduler simulation;
+    private final TickScheduler broadcast;
+    private final double viewRadius;
+    private final double viewHysteresis;
+    private final MatchRecorder recorder;
+    private final int slowInputTicks;
+    private ScheduledExecutorService executor;
+    private volatile ScheduledFuture<?> tickTask;
+    private volatile boolean stopped;
+    private long nextReport;
+    private long reportedLate;
+    private long reportedSkipped;
+
+    public class Member {
+        private final Connection connection;
+        private final int playerId;
+        private volatile int lastAckedTick = -1;
+        private final InterestSet interest;
+        private final SnapshotHistory sentSnapshots;
+
+        private Member(Connection connection, int playerId) {
+            this.connection = connection;
+            this.playerId = playerId;
+            boolean filtered = viewRadius > 0;
+            this.interest = filtered ? new InterestSet(viewRadius, viewHysteresis) : null;
+            this.sentSnapshots = filtered ? new SnapshotHistory(SNAPSHOT_HISTORY_SIZE) : null;
+        }
+
+        public Match getMatch() {
+            return Match.this;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        public void acknowledge(int tick) {
+            lastAckedTick = Math.max(lastAckedTick, tick);
+        }
+    }
+
+    public Match(int id, ServerConfig config, GameMap map) {
+        this.id = id;
+        this.map = map;
+        this.gameState = new GameState(map, config.getTickRate());
+        this.simulation = new TickScheduler(config.getTickRate(), MAX_CATCH_UP_TICKS);
+        this.broadcast = new TickScheduler(config.getSendRate(), 1);
+        this.viewRadius = config.getViewRadius();
+        this.viewHysteresis = config.getViewHysteresis();
+        this.nextReport = System.nanoTime() + OVERRUN_REPORT_INTERVAL_NS;
+        this.slowInputTicks = (int) Math.round(SLOW_INPUT_DELAY_NS * config.getTickRate() / 1_000_000_000L);
+        this.recorder = config.getRecordDir() != null ? startRecording(config) : null;
+    }
+
+    private MatchRecorder startRecording(ServerConfig config) {
+        Path path = Path.of(config.getRecordDir(), "match-" + System.currentTimeMillis() + "-" + id + ".replay");
+        try {
+            Files.createDirectories(path.getParent());
+            MatchRecorder matchRecorder = new MatchRecorder(path, "recorder-" + id, map, config.getTickRate());
+            gameState.setRecorder(matchRecorder);
+            System.out.println("Recording match " + id + " to " + path);
+            return matchRecorder;
+        } catch (IOException e) {
+            System.err.println("Could not record match " + id + " to " + path);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public Member addPlayer(Connection connection, int playerId) {
+        Member member = new Member(connection, playerId);
+        gameState.addPlayer(playerId);
+        members.put(connection, member);
+        return member;
+    }
+
+    public void removePlayer(Member member) {
+        members.remove(member.connection);
+        gameState.removePlayer(member.playerId);
+    }
+
+    public void start(ScheduledExecutorService executor) {
+        this.executor = executor;
+        tickTask = executor.schedule(this::tick, 0, TimeUnit.NANOSECONDS);
+    }
+
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            int ticks = simulation.poll(now);
+            for (int i = 0; i < ticks; i++) {
+                gameState.update();
+            }
+            if (broadcast.poll(now) > 0) {
+                broadcastGameState();
+            }
+            reportOverruns(now);
+        } catch (RuntimeException e) {
+            System.err.println("Match " + id + " tick failed");
+            e.printStackTrace();
+        }
+
+        if (!stopped) {
+            long next = Math.min(simulation.getNextTickTime(), broadcast.getNextTickTime());
+            ScheduledFuture<?> task = executor.schedule(this::tick, next - System.nanoTime(), TimeUnit.NANOSECONDS);
+            tickTask = task;
+            // stop() may have run after the check above and cancelled the previous task.
+            if (stopped) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private void broadcastGameState() {
+        if (viewRadius > 0) {
+            for (Member member : members.values()) {
+                sendInterestSnapshot(member);
+            }
+            return;
+        }
+
+        Snapshot snapshot = gameState.createSnapshot();
+        snapshotHistory.add(snapshot);
+
+        ByteBuffer fullFrame = null;
+        Map<Integer, ByteBuffer> deltaFrames = new HashMap<>();
+        for (Member member : members.values()) {
+            Snapshot baseline = snapshotHistory.get(member.lastAckedTick);
+            ByteBuffer frame;
+            if (baseline != null && baseline.getTick() < snapshot.getTick()) {
+                frame = deltaFrames.computeIfAbsent(baseline.getTick(), tick -> PacketCodec.encode(
+                        new GamePacket(PacketType.GAME_STATE_DELTA, SnapshotDelta.between(baseline, snapshot))));
+            } else {
+                if (fullFrame == null) {
+                    fullFrame = PacketCodec.encode(new GamePacket(PacketType.GAME_STATE, snapshot));
+                }
+                frame = fullFrame;
+            }
+            member.connection.sendState(frame);
+        }
+    }
+
+    /**
+     * Each client gets its own view, so deltas are taken against the last view it acknowledged rather
+     * than the shared history. Entities entering the view arrive as changes, leaving ones as removals.
+     */
+    private void sendInterestSnapshot(Member member) {
+        Snapshot view = gameState.createSnapshot(member.playerId, member.interest);
+        if (view == null) {
+            return;
+        }
+        member.sentSnapshots.add(view);
+        Snapshot baseline = member.sentSnapshots.get(member.lastAckedTick);
+        GamePacket packet = baseline != null && baseline.getTick() < view.getTick()
+                ? new GamePacket(PacketType.GAME_STATE_DELTA, SnapshotDelta.between(baseline, view))
+                : new GamePacket(PacketType.GAME_STATE, view);
+        member.connection.sendState(PacketCodec.encode(packet));
+    }
+
+    private void reportOverruns(long now) {
+        if (now < nextReport) {
+            return;
+        }
+        nextReport = now + OVERRUN_REPORT_INTERVAL_NS;
+        if (simulation.getLateTicks() != reportedLate || simulation.getSkippedTicks() != reportedSkipped) {
+            System.out.println("Match " + id + " tick overrun: " + (simulation.getLateTicks() - reportedLate) +
+                    " late, " + (simulation.getSkippedTicks() - reportedSkipped) + " skipped in the last " +
+                    OVERRUN_REPORT_INTERVAL_NS / 1_000_000_000L + "s");
+            reportedLate = simulation.getLateTicks();
+            reportedSkipped = simulation.getSkippedTicks();
+        }
+        reportSlowInputs();
+    }
+
+    /**
+     * Names the player whose inputs lag furthest behind the states they answer, if that is more than
+     * {@link #SLOW_INPUT_DELAY_NS}, as a sign of a slow link rather than a slow server.
+     */
+    private void reportSlowInputs() {
+        Player slowest = null;
+        for (Player player : gameState.getPlayers().values()) {
+            if (slowest == null || player.getInputDelayTicks() > slowest.getInputDelayTicks()) {
+                slowest = player;
+            }
+        }
+        if (slowest != null && slowest.getInputDelayTicks() > slowInputTicks) {
+            System.out.println("Match " + id + " input delay: player " + slowest.getId() + " is " +
+                    slowest.getInputDelayTicks() + " ticks behind");
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getPlayerCount() {
+        return members.size();
+    }
+
+    public GameMap getMap() {
+        return map;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public void stop() {
+        stopped = true;
+        ScheduledFuture<?> task = tickTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        if (recorder != null) {
+            gameState.setRecorder(null);
+            recorder.close();
+        }
+    }
+}
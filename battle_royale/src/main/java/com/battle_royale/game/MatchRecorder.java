@@ -0,0 +1,203 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Append-only log of one match that {@link MatchReplayer} can re-run tick for tick: a header with the
+ * tick rate and map, then the joins, leaves and every input the simulation applied, each tagged with its
+ * tick, and a checksum of the state every {@link #CHECKSUM_INTERVAL_TICKS} ticks.
+ * <p>
+ * The simulation only copies records into a heap chunk. Full chunks, and the current one about once a
+ * second, are handed to a writer thread that copies them into the file through a memory mapping grown in
+ * {@link #MAPPING_SIZE} steps, so the tick thread never touches the file. The mapped tail past the last
+ * record reads as zeros, which the replayer treats as the end of the log, so a log cut short by a crash
+ * still replays up to its last flushed chunk.
+ * <p>
+ * Recording methods are called by {@link GameState} while it holds its own lock.
+ */
+public class MatchRecorder {
+    static final int MAGIC = 0x42525250;
+    static final int VERSION = 1;
+    static final byte END = 0;
+    static final byte JOIN = 1;
+    static final byte LEAVE = 2;
+    static final byte INPUT = 3;
+    static final byte CHECKSUM = 4;
+    static final int CHECKSUM_INTERVAL_TICKS = 64;
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long MAPPING_SIZE = 16L << 20;
+    private static final int RECORD_HEADER_SIZE = 1 + 4;
+    private static final ByteBuffer CLOSE = ByteBuffer.allocate(0);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>();
+    private final Queue<ByteBuffer> spare = new ConcurrentLinkedQueue<>();
+    private ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+    private int lastFlushTick;
+    private boolean closed;
+    private volatile boolean failed;
+
+    private MappedByteBuffer mapping;
+    private long written;
+
+    public MatchRecorder(Path path, String name, GameMap map, double tickRate) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        ensure(4 + 4 + 8 + 8 + 4);
+        chunk.putInt(MAGIC);
+        chunk.putInt(VERSION);
+        chunk.putDouble(tickRate);
+        chunk.putLong(map.getSeed());
+        chunk.putInt(map.getObstacles().size());
+        for (Obstacle obstacle : map.getObstacles()) {
+            ensure(4 * 8);
+            chunk.putDouble(obstacle.getPosition().x);
+            chunk.putDouble(obstacle.getPosition().y);
+            chunk.putDouble(obstacle.getWidth());
+            chunk.putDouble(obstacle.getHeight());
+        }
+
+        Thread.ofPlatform().name(name).daemon().start(this::writeLoop);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    void recordJoin(int tick, int playerId) {
+        ensure(RECORD_HEADER_SIZE + 4);
+        chunk.put(JOIN).putInt(tick).putInt(playerId);
+    }
+
+    void recordLeave(int tick, int playerId) {
+        ensure(RECORD_HEADER_SIZE + 4);
+        chunk.put(LEAVE).putInt(tick).putInt(playerId);
+    }
+
+    void recordInput(int tick, int playerId, Player.Input input) {
+        ensure(RECORD_HEADER_SIZE + 4 + 1 + 4);
+        chunk.put(INPUT).putInt(tick).putInt(playerId).put(encodeButtons(input)).putInt(input.sequence);
+    }
+
+    boolean isChecksumDue(int tick) {
+        return tick - lastFlushTick >= CHECKSUM_INTERVAL_TICKS;
+    }
+
+    /**
+     * Logs the state checksum at the end of a tick and hands the current chunk to the writer, so the log
+     * on disk is never more than {@link #CHECKSUM_INTERVAL_TICKS} ticks behind.
+     */
+    void recordChecksum(int tick, long checksum) {
+        ensure(RECORD_HEADER_SIZE + 8);
+        chunk.put(CHECKSUM).putInt(tick).putLong(checksum);
+        lastFlushTick = tick;
+        handOff();
+    }
+
+    /**
+     * Hands the remaining records to the writer, which closes the file once they are written. Returns
+     * without waiting for the writer.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        handOff();
+        filled.add(CLOSE);
+    }
+
+    static byte encodeButtons(Player.Input input) {
+        return (byte) ((input.up ? 1 : 0) | (input.down ? 2 : 0) | (input.left ? 4 : 0) |
+                (input.right ? 8 : 0) | (input.shooting ? 16 : 0));
+    }
+
+    static void decodeButtons(byte buttons, Player.Input input) {
+        input.up = (buttons & 1) != 0;
+        input.down = (buttons & 2) != 0;
+        input.left = (buttons & 4) != 0;
+        input.right = (buttons & 8) != 0;
+        input.shooting = (buttons & 16) != 0;
+    }
+
+    private void ensure(int bytes) {
+        if (chunk.remaining() < bytes) {
+            handOff();
+        }
+    }
+
+    private void handOff() {
+        if (chunk.position() == 0) {
+            return;
+        }
+        if (failed) {
+            chunk.clear();
+            return;
+        }
+        chunk.flip();
+        filled.add(chunk);
+        ByteBuffer next = spare.poll();
+        chunk = next != null ? next : ByteBuffer.allocate(CHUNK_SIZE);
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer buffer = filled.take();
+                if (buffer == CLOSE) {
+                    break;
+                }
+                write(buffer);
+                buffer.clear();
+                spare.offer(buffer);
+            }
+        } catch (IOException e) {
+            failed = true;
+            System.err.println("Recording to " + path + " failed, the log ends at byte " + written);
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finish();
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (mapping == null || !mapping.hasRemaining()) {
+                mapping = channel.map(FileChannel.MapMode.READ_WRITE, written, MAPPING_SIZE);
+            }
+            int length = Math.min(buffer.remaining(), mapping.remaining());
+            mapping.put(buffer.slice(buffer.position(), length));
+            buffer.position(buffer.position() + length);
+            written += length;
+        }
+    }
+
+    private void finish() {
+        mapping = null;
+        try {
+            channel.truncate(written);
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Could not close recording " + path);
+            e.printStackTrace();
+        }
+    }
+}
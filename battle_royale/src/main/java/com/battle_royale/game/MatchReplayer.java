@@ -0,0 +1,147 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.model.Vector2D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-runs a match logged by {@link MatchRecorder} without networking or waiting between ticks, so a
+ * recorded match can be reproduced under a profiler or used to measure the simulation. Recorded inputs
+ * are queued for the tick that applied them and the state is checked against every recorded checksum.
+ * <p>
+ * Run with {@code <file> [runs]}; later runs are useful once the JIT has warmed up.
+ */
+public final class MatchReplayer {
+    private MatchReplayer() {}
+
+    public static class Result {
+        public final int ticks;
+        public final int inputs;
+        public final int checksums;
+        public final int mismatchedChecksums;
+        public final int firstMismatchTick;
+        public final long nanos;
+
+        Result(int ticks, int inputs, int checksums, int mismatchedChecksums, int firstMismatchTick, long nanos) {
+            this.ticks = ticks;
+            this.inputs = inputs;
+            this.checksums = checksums;
+            this.mismatchedChecksums = mismatchedChecksums;
+            this.firstMismatchTick = firstMismatchTick;
+            this.nanos = nanos;
+        }
+    }
+
+    public static ByteBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public static Result replay(ByteBuffer log) throws IOException {
+        ByteBuffer buffer = log.duplicate();
+        if (buffer.remaining() < 4 + 4 + 8 + 8 + 4 || buffer.getInt() != MatchRecorder.MAGIC) {
+            throw new IOException("Not a match recording");
+        }
+        int version = buffer.getInt();
+        if (version != MatchRecorder.VERSION) {
+            throw new IOException("Unsupported recording version " + version);
+        }
+        double tickRate = buffer.getDouble();
+        long seed = buffer.getLong();
+        int obstacleCount = buffer.getInt();
+        if (obstacleCount < 0 || buffer.remaining() < (long) obstacleCount * 4 * 8) {
+            throw new IOException("Recording is truncated in its map");
+        }
+        List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            Vector2D position = new Vector2D(buffer.getDouble(), buffer.getDouble());
+            obstacles.add(new Obstacle(position, buffer.getDouble(), buffer.getDouble()));
+        }
+
+        long start = System.nanoTime();
+        GameState state = new GameState(new GameMap(seed, obstacles, 0), tickRate);
+        state.setMaxInputBacklog(0);
+        int inputs = 0;
+        int checksums = 0;
+        int mismatches = 0;
+        int firstMismatchTick = -1;
+        int lastTick = 0;
+        while (buffer.remaining() >= 1 + 4) {
+            byte type = buffer.get();
+            if (type == MatchRecorder.END) {
+                break;
+            }
+            int tick = buffer.getInt();
+            switch (type) {
+                case MatchRecorder.JOIN:
+                    runUntil(state, tick);
+                    state.addPlayer(buffer.getInt());
+                    break;
+                case MatchRecorder.LEAVE:
+                    runUntil(state, tick);
+                    state.removePlayer(buffer.getInt());
+                    break;
+                case MatchRecorder.INPUT:
+                    // Applied during the tick, so it is queued before that tick runs.
+                    runUntil(state, tick - 1);
+                    int playerId = buffer.getInt();
+                    Player.Input input = new Player.Input();
+                    MatchRecorder.decodeButtons(buffer.get(), input);
+                    input.sequence = buffer.getInt();
+                    state.updatePlayerInput(playerId, input);
+                    inputs++;
+                    break;
+                case MatchRecorder.CHECKSUM:
+                    runUntil(state, tick);
+                    checksums++;
+                    if (state.checksum() != buffer.getLong()) {
+                        mismatches++;
+                        if (firstMismatchTick < 0) {
+                            firstMismatchTick = tick;
+                        }
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown record type " + type + " at byte " + (buffer.position() - 5));
+            }
+            lastTick = Math.max(lastTick, tick);
+        }
+        runUntil(state, lastTick);
+        return new Result(state.getTick(), inputs, checksums, mismatches, firstMismatchTick, System.nanoTime() - start);
+    }
+
+    private static void runUntil(GameState state, int tick) {
+        while (state.getTick() < tick) {
+            state.update();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: MatchReplayer <file> [runs]");
+            return;
+        }
+        Path path = Path.of(args[0]);
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        ByteBuffer log = read(path);
+        System.out.println("Replaying " + path + " (" + log.remaining() / 1024 + " KB)");
+
+        for (int run = 1; run <= runs; run++) {
+            Result result = replay(log);
+            double millis = result.nanos / 1_000_000.0;
+            System.out.printf("Run %d: %d ticks, %d inputs in %.1f ms (%.0f ticks/s), %d/%d checksums match%s%n",
+                    run, result.ticks, result.inputs, millis, result.ticks / (millis / 1000),
+                    result.checksums - result.mismatchedChecksums, result.checksums,
+                    result.mismatchedChecksums > 0 ? ", first mismatch at tick " + result.firstMismatchTick : "");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.network.Snapshot;
+import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.ObstacleIndex;
+import com.battle_royale.utils.SpatialGrid;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side copy of the local player, moved with {@link Player#move} as soon as an input is sent.
+ * Each authoritative snapshot resets it to the server's state for the last input the server applied,
+ * then replays the inputs the server has not reached yet. Other players are kept on a local grid at
+ * their latest snapshot positions so player collisions are predicted too. Nothing is predicted until the
+ * map's obstacles are known.
+ * Not thread-safe; the client guards it with its game state lock.
+ */
+public class PlayerPrediction {
+    private static final int MAX_PENDING_INPUTS = 128;
+
+    private final int playerId;
+    private final SpatialGrid<Player> grid =
+            new SpatialGrid<>(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, GameState.PLAYER_GRID_CELL_SIZE);
+    private final Map<Integer, Player> others = new HashMap<>();
+    private final ArrayDeque<Player.Input> pending = new ArrayDeque<>();
+    private final Player self;
+    private ObstacleIndex obstacles;
+    private boolean synced;
+
+    public PlayerPrediction(int playerId) {
+        this.playerId = playerId;
+        this.self = new Player(playerId, grid);
+    }
+
+    /**
+     * Applies an input that was just sent to the server and keeps it for replay until acknowledged.
+     */
+    public void predict(Player.Input input) {
+        if (!synced) {
+            return;
+        }
+        if (pending.size() == MAX_PENDING_INPUTS) {
+            pending.poll();
+        }
+        pending.add(input);
+        self.move(input, obstacles);
+    }
+
+    public void setObstacles(List<Obstacle> mapObstacles) {
+        obstacles = new ObstacleIndex(mapObstacles, Constants.GAME_WIDTH, Constants.GAME_HEIGHT,
+                GameState.OBSTACLE_INDEX_CELL_SIZE);
+    }
+
+    public void reconcile(Snapshot snapshot) {
+        Snapshot.PlayerState state = snapshot.getPlayer(playerId);
+        if (state == null || obstacles == null) {
+            return;
+        }
+        syncOthers(snapshot);
+
+        while (!pending.isEmpty() && pending.peek().sequence <= state.lastProcessedInput) {
+            pending.poll();
+        }
+        self.restore(state.x, state.y, state.health, state.alive, state.direction);
+        for (Player.Input input : pending) {
+            self.move(input, obstacles);
+        }
+        synced = true;
+    }
+
+    private void syncOthers(Snapshot snapshot) {
+        for (Snapshot.PlayerState state : snapshot.getPlayers()) {
+            if (state.id == playerId) {
+                continue;
+            }
+            Player other = others.get(state.id);
+            if (other == null) {
+                other = new Player(state.id, grid);
+                other.restore(state.x, state.y, state.health, state.alive, state.direction);
+                other.attachToGrid();
+                others.put(state.id, other);
+            } else {
+                other.restore(state.x, state.y, state.health, state.alive, state.direction);
+            }
+        }
+        Iterator<Player> iterator = others.values().iterator();
+        while (iterator.hasNext()) {
+            Player other = iterator.next();
+            if (snapshot.getPlayer(other.getId()) == null) {
+                other.detachFromGrid();
+                iterator.remove();
+            }
+        }
+    }
+
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public double getX() {
+        return self.getPosition().x;
+    }
+
+    public double getY() {
+        return self.getPosition().y;
+    }
+
+    public Player.Direction getDirection() {
+        return self.getLastDirection();
+    }
+
+    public int getPendingInputs() {
+        return pending.size();
+    }
+}
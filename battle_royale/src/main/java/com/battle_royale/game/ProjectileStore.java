@@ -0,0 +1,134 @@
+package com.battle_royale.game;
+
+import java.util.Arrays;
+
+/**
+ * Live projectiles kept as parallel primitive arrays. Slots are packed at the front and a removal moves
+ * the last projectile into the freed slot, so the arrays are reused for the lifetime of the match and
+ * spawning or removing a projectile does not allocate once they have grown to the peak count.
+ * Not thread-safe; only the tick thread uses it.
+ */
+public class ProjectileStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] id = new int[INITIAL_CAPACITY];
+    private int[] ownerId = new int[INITIAL_CAPACITY];
+    private int[] spawnTick = new int[INITIAL_CAPACITY];
+    private double[] originX = new double[INITIAL_CAPACITY];
+    private double[] originY = new double[INITIAL_CAPACITY];
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] velocityX = new double[INITIAL_CAPACITY];
+    private double[] velocityY = new double[INITIAL_CAPACITY];
+    private int[] expiryTimer = new int[INITIAL_CAPACITY];
+    private int size;
+    private int nextId;
+
+    public int spawn(int owner, double startX, double startY, double vx, double vy, int tick, int timer) {
+        if (size == id.length) {
+            grow();
+        }
+        int slot = size++;
+        id[slot] = ++nextId;
+        ownerId[slot] = owner;
+        spawnTick[slot] = tick;
+        originX[slot] = startX;
+        originY[slot] = startY;
+        x[slot] = startX;
+        y[slot] = startY;
+        velocityX[slot] = vx;
+        velocityY[slot] = vy;
+        expiryTimer[slot] = timer;
+        return id[slot];
+    }
+
+    public void step(int slot) {
+        x[slot] += velocityX[slot];
+        y[slot] += velocityY[slot];
+    }
+
+    /**
+     * Frees the slot by moving the last projectile into it. Callers iterating by slot must revisit
+     * the same slot afterwards.
+     */
+    public void remove(int slot) {
+        int last = --size;
+        if (slot != last) {
+            id[slot] = id[last];
+            ownerId[slot] = ownerId[last];
+            spawnTick[slot] = spawnTick[last];
+            originX[slot] = originX[last];
+            originY[slot] = originY[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            expiryTimer[slot] = expiryTimer[last];
+        }
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int slot) {
+        return id[slot];
+    }
+
+    public int getOwnerId(int slot) {
+        return ownerId[slot];
+    }
+
+    public int getSpawnTick(int slot) {
+        return spawnTick[slot];
+    }
+
+    public double getOriginX(int slot) {
+        return originX[slot];
+    }
+
+    public double getOriginY(int slot) {
+        return originY[slot];
+    }
+
+    public double getX(int slot) {
+        return x[slot];
+    }
+
+    public double getY(int slot) {
+        return y[slot];
+    }
+
+    public double getVelocityX(int slot) {
+        return velocityX[slot];
+    }
+
+    public double getVelocityY(int slot) {
+        return velocityY[slot];
+    }
+
+    /**
+     * Handle of the projectile's lifetime timer in the owner's {@link com.battle_royale.utils.TimerWheel}.
+     */
+    public int getExpiryTimer(int slot) {
+        return expiryTimer[slot];
+    }
+
+    private void grow() {
+        int capacity = id.length * 2;
+        id = Arrays.copyOf(id, capacity);
+        ownerId = Arrays.copyOf(ownerId, capacity);
+        spawnTick = Arrays.copyOf(spawnTick, capacity);
+        originX = Arrays.copyOf(originX, capacity);
+        originY = Arrays.copyOf(originY, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        expiryTimer = Arrays.copyOf(expiryTimer, capacity);
+    }
+}
@@ -0,0 +1,124 @@
+package com.battle_royale.game;
+
+public class ServerConfig {
+    public enum Transport { BLOCKING, NIO }
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    private int port = 5000;
+    private Transport transport = Transport.BLOCKING;
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+    private int ioThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private double tickRate = 60;
+    private double sendRate = 60;
+    private int matchThreads = Runtime.getRuntime().availableProcessors();
+    private int matchSize = 8;
+    private double viewRadius = 0;
+    private double viewHysteresis = 48;
+    private Long mapSeed;
+    private int mapPoolSize = 2;
+    private String mapFile;
+    private String recordDir;
+
+    public static ServerConfig fromArgs(String[] args) {
+        ServerConfig config = new ServerConfig();
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (!arg.startsWith("--") || parts.length != 2) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            String value = parts[1];
+            switch (parts[0]) {
+                case "--port":
+                    config.port = Integer.parseInt(value);
+                    break;
+                case "--transport":
+                    config.transport = Transport.valueOf(value.toUpperCase());
+                    break;
+                case "--threads":
+                    config.threadMode = ThreadMode.valueOf(value.toUpperCase());
+                    break;
+                case "--io-threads":
+                    config.ioThreads = Integer.parseInt(value);
+                    break;
+                case "--tick-rate":
+                    config.tickRate = Double.parseDouble(value);
+                    break;
+                case "--send-rate":
+                    config.sendRate = Double.parseDouble(value);
+                    break;
+                case "--match-threads":
+                    config.matchThreads = Integer.parseInt(value);
+                    break;
+                case "--match-size":
+                    config.matchSize = Integer.parseInt(value);
+                    break;
+                case "--view-radius":
+                    config.viewRadius = Double.parseDouble(value);
+                    break;
+                case "--view-hysteresis":
+                    config.viewHysteresis = Double.parseDouble(value);
+                    break;
+                case "--map-seed":
+                    config.mapSeed = Long.parseLong(value);
+                    break;
+                case "--map-pool":
+                    config.mapPoolSize = Integer.parseInt(value);
+                    break;
+                case "--map-file":
+                    config.mapFile = value;
+                    break;
+                case "--record-dir":
+                    config.recordDir = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + parts[0]);
+            }
+        }
+        return config;
+    }
+
+    public int getPort() { return port; }
+    public Transport getTransport() { return transport; }
+    public ThreadMode getThreadMode() { return threadMode; }
+    public int getIoThreads() { return ioThreads; }
+    public double getTickRate() { return tickRate; }
+    public double getSendRate() { return Math.min(sendRate, tickRate); }
+    public int getMatchThreads() { return matchThreads; }
+    public int getMatchSize() { return matchSize; }
+    /** Zero sends every client the whole match. */
+    public double getViewRadius() { return viewRadius; }
+    public double getViewHysteresis() { return viewHysteresis; }
+    /** Seed of the first generated map, or null for a random one. */
+    public Long getMapSeed() { return mapSeed; }
+    public int getMapPoolSize() { return mapPoolSize; }
+    /** File of pre-generated maps to serve instead of generating them, or null. */
+    public String getMapFile() { return mapFile; }
+    /** Directory every match is recorded into for {@link MatchReplayer}, or null to not record. */
+    public String getRecordDir() { return recordDir; }
+
+    public Thread.Builder connectionThreads() {
+        return threadMode == ThreadMode.VIRTUAL
+                ? Thread.ofVirtual().name("client-", 0)
+                : Thread.ofPlatform().name("client-", 0);
+    }
+
+    @Override
+    public String toString() {
+        return "ServerConfig{" +
+                "port=" + port +
+                ", transport=" + transport +
+                ", threadMode=" + threadMode +
+                ", ioThreads=" + ioThreads +
+                ", tickRate=" + tickRate +
+                ", sendRate=" + sendRate +
+                ", matchThreads=" + matchThreads +
+                ", matchSize=" + matchSize +
+                ", viewRadius=" + viewRadius +
+                ", viewHysteresis=" + viewHysteresis +
+                ", mapSeed=" + mapSeed +
+                ", mapPoolSize=" + mapPoolSize +
+                ", mapFile=" + mapFile +
+                ", recordDir=" + recordDir +
+                '}';
+    }
+}
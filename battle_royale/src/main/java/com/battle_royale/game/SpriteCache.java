@@ -0,0 +1,138 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.Helper;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-rendered images for the client canvas, so a frame is mostly image blits instead of gradients and
+ * shadow effects. The background and obstacles are drawn once per map, and each player's body, shadow
+ * and barrel once per colour and facing direction.
+ * Must only be used on the JavaFX application thread.
+ */
+public class SpriteCache {
+    private static final double PLAYER_SHADOW_RADIUS = 10;
+    private static final double OBSTACLE_SHADOW_RADIUS = 5;
+    private static final double BARREL_LENGTH = 10;
+    private static final double BARREL_WIDTH = 4;
+    private static final int MAX_CACHED_PLAYERS = 256;
+
+    private final double width;
+    private final double height;
+    private final Map<Integer, Image[]> playerSprites = new HashMap<>();
+    private final Map<Integer, Color> projectileColors = new HashMap<>();
+    private Image background;
+    private List<Obstacle> backgroundObstacles;
+
+    public SpriteCache(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * The background gradient with the obstacles on it, redrawn only when the obstacle list changes.
+     */
+    public Image getBackground(List<Obstacle> obstacles) {
+        if (background == null || obstacles != backgroundObstacles) {
+            Canvas layer = new Canvas(width, height);
+            GraphicsContext gc = layer.getGraphicsContext2D();
+            gc.setFill(new LinearGradient(
+                    0, 0, 1, 1, true, CycleMethod.NO_CYCLE,
+                    new Stop(0, Color.BLACK),
+                    new Stop(1, Color.DARKSLATEGRAY)
+            ));
+            gc.fillRect(0, 0, width, height);
+
+            gc.setFill(Color.CYAN);
+            gc.setEffect(new DropShadow(OBSTACLE_SHADOW_RADIUS, Color.CYAN));
+            for (Obstacle obstacle : obstacles) {
+                gc.fillRect(obstacle.getPosition().x, obstacle.getPosition().y, obstacle.getWidth(), obstacle.getHeight());
+            }
+            gc.setEffect(null);
+
+            background = layer.snapshot(null, null);
+            backgroundObstacles = obstacles;
+        }
+        return background;
+    }
+
+    /**
+     * The player's body and barrel with its shadow. The image has {@link #getPlayerPadding()} pixels of
+     * room for the shadow on every side of the body.
+     */
+    public Image getPlayer(int playerId, Player.Direction direction) {
+        Image[] sprites = playerSprites.get(playerId);
+        if (sprites == null) {
+            if (playerSprites.size() >= MAX_CACHED_PLAYERS) {
+                playerSprites.clear();
+            }
+            sprites = new Image[Player.Direction.values().length];
+            playerSprites.put(playerId, sprites);
+        }
+        Image sprite = sprites[direction.ordinal()];
+        if (sprite == null) {
+            sprite = renderPlayer(playerId, direction);
+            sprites[direction.ordinal()] = sprite;
+        }
+        return sprite;
+    }
+
+    public double getPlayerPadding() {
+        return PLAYER_SHADOW_RADIUS;
+    }
+
+    public Color getProjectileColor(int ownerId) {
+        if (projectileColors.size() >= MAX_CACHED_PLAYERS) {
+            projectileColors.clear();
+        }
+        return projectileColors.computeIfAbsent(ownerId, Helper::getBarrelColor);
+    }
+
+    private Image renderPlayer(int playerId, Player.Direction direction) {
+        double padding = getPlayerPadding();
+        double size = Constants.PLAYER_SIZE + 2 * padding;
+        Canvas layer = new Canvas(size, size);
+        GraphicsContext gc = layer.getGraphicsContext2D();
+        gc.setEffect(new DropShadow(PLAYER_SHADOW_RADIUS, Color.BLACK));
+
+        gc.setFill(Helper.getPlayerColor(playerId));
+        gc.fillOval(padding, padding, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE);
+
+        gc.setFill(Helper.getBarrelColor(playerId));
+        double centerX = padding + Constants.PLAYER_SIZE / 2.0;
+        double centerY = padding + Constants.PLAYER_SIZE / 2.0;
+        switch (direction) {
+            case UP:
+                gc.fillRect(centerX - BARREL_WIDTH / 2, centerY - BARREL_LENGTH, BARREL_WIDTH, BARREL_LENGTH);
+                break;
+            case DOWN:
+                gc.fillRect(centerX - BARREL_WIDTH / 2, centerY, BARREL_WIDTH, BARREL_LENGTH);
+                break;
+            case LEFT:
+                gc.fillRect(centerX - BARREL_LENGTH, centerY - BARREL_WIDTH / 2, BARREL_LENGTH, BARREL_WIDTH);
+                break;
+            case RIGHT:
+                gc.fillRect(centerX, centerY - BARREL_WIDTH / 2, BARREL_LENGTH, BARREL_WIDTH);
+                break;
+        }
+        gc.setEffect(null);
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        return layer.snapshot(parameters, null);
+    }
+}
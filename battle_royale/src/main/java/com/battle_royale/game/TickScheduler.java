@@ -0,0 +1,76 @@
+package com.battle_royale.game;
+
+import java.time.Duration;
+
+/**
+ * Fixed-timestep clock on {@link System#nanoTime()}. Deadlines advance by exactly one period from the
+ * first tick, so the average rate does not drift with loop cost or sleep jitter. When the caller falls
+ * behind, up to {@code maxCatchUpTicks} missed ticks are handed back to be run immediately and the rest
+ * are skipped.
+ */
+public class TickScheduler {
+    private final long tickNanos;
+    private final int maxCatchUpTicks;
+    private long nextTickTime;
+    private boolean started;
+    private long ticks;
+    private long lateTicks;
+    private long skippedTicks;
+
+    public TickScheduler(double ticksPerSecond, int maxCatchUpTicks) {
+        if (ticksPerSecond <= 0 || maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("Invalid tick rate " + ticksPerSecond + " or catch-up limit " + maxCatchUpTicks);
+        }
+        this.tickNanos = Math.round(1_000_000_000L / ticksPerSecond);
+        this.maxCatchUpTicks = maxCatchUpTicks;
+    }
+
+    /**
+     * Sleeps until the next deadline and returns how many ticks should run now, at least one.
+     */
+    public int awaitNextTicks() throws InterruptedException {
+        long now = System.nanoTime();
+        if (started && now < nextTickTime) {
+            Thread.sleep(Duration.ofNanos(nextTickTime - now));
+            now = System.nanoTime();
+        }
+        return poll(now);
+    }
+
+    /**
+     * Returns how many ticks are due at {@code now} without blocking, or zero if none are.
+     */
+    public int poll(long now) {
+        if (!started) {
+            started = true;
+            nextTickTime = now;
+        }
+        if (now < nextTickTime) {
+            return 0;
+        }
+
+        long due = (now - nextTickTime) / tickNanos + 1;
+        int run = (int) Math.min(due, maxCatchUpTicks);
+        lateTicks += run - 1;
+        skippedTicks += due - run;
+        ticks += run;
+        nextTickTime += due * tickNanos;
+        return run;
+    }
+
+    public long getTickNanos() { return tickNanos; }
+    public long getNextTickTime() { return nextTickTime; }
+    public long getTicks() { return ticks; }
+    public long getLateTicks() { return lateTicks; }
+    public long getSkippedTicks() { return skippedTicks; }
+
+    @Override
+    public String toString() {
+        return "TickScheduler{" +
+                "rate=" + (1_000_000_000.0 / tickNanos) +
+                ", ticks=" + ticks +
+                ", lateTicks=" + lateTicks +
+                ", skippedTicks=" + skippedTicks +
+                '}';
+    }
+}
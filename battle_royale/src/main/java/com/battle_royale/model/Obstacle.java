@@ -1,9 +1,6 @@
 package com.battle_royale.model;
 
-import java.io.Serializable;
-
-public class Obstacle implements Serializable {
-    private static final long serialVersionUID = 1L;
+public class Obstacle {
     private Vector2D position;
     private double width;
     private double height;
@@ -2,21 +2,34 @@ package com.battle_royale.model;
 
 import com.battle_royale.utils.CollisionUtils;
 import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.Helper;
+import com.battle_royale.utils.ObstacleIndex;
+import com.battle_royale.utils.SpatialGrid;
+import com.battle_royale.utils.SpscRing;
 import javafx.scene.paint.Color;
 
-import java.io.Serializable;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
-public class Player implements Serializable {
+public class Player {
     private Vector2D position;
     private Vector2D velocity;
     private final int id;
     private boolean isAlive;
     private int health;
     private Direction lastDirection;
-    private double redObj, greenObj, blueObj;
-    private double redBarrel, greenBarrel, blueBarrel;
-    private Map<Integer, Player> relatedPlayers;
+    private SpatialGrid<Player> playerGrid;
+    private int gridHandle = -1;
+    private final List<Player> nearbyPlayers = new ArrayList<>();
+    private Input input = new Input();
+    private final SpscRing<Input> pendingInputs = new SpscRing<>(INPUT_BUFFER_SIZE);
+    private int lastProcessedInput;
+    private int inputDelayTicks;
+    private boolean fireHeld;
+    private int nextShotTick;
+
+    private static final int INPUT_BUFFER_SIZE = 64;
 
     public enum Direction {
         UP, DOWN, LEFT, RIGHT;
@@ -30,8 +43,11 @@ public class Player implements Serializable {
         }
     }
 
-    public static class Input implements Serializable {
+    public static class Input {
         public boolean up, down, left, right, shooting;
+        // Client-assigned, increasing per input, and the latest server tick the client had seen when sending it.
+        public int sequence;
+        public int tick;
 
         public boolean isMoving() {
             return up || down || left || right;
@@ -46,89 +62,107 @@ public class Player implements Serializable {
                     left == other.left && right == other.right &&
                     shooting == other.shooting;
         }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(up, down, left, right, shooting);
+        }
     }
 
-    public Player(int id, Map<Integer, Player> relatedPlayers) {
+    public Player(int id, SpatialGrid<Player> playerGrid) {
         this.id = id;
         this.position = new Vector2D(Math.random() * 800, Math.random() * 600);
         this.velocity = new Vector2D(0, 0);
         this.isAlive = true;
         this.health = 100;
         this.lastDirection = Direction.RIGHT;
-        this.relatedPlayers = relatedPlayers;
-        this.redObj = Math.random();
-        this.greenObj = Math.random();
-        this.blueObj = Math.random();
-
-        this.redBarrel = Math.random();
-        this.greenBarrel = Math.random();
-        this.blueBarrel = Math.random();
-
+        this.playerGrid = playerGrid;
     }
 
     public void update(Input input) {
         if (!isAlive) return;
 
-        Vector2D newVelocity = new Vector2D(0, 0);
+        double moveX = 0;
+        double moveY = 0;
         if (input.up) {
-            newVelocity.y -= 5;
+            moveY -= Constants.PLAYER_SPEED;
             lastDirection = Direction.UP;
         }
         if (input.down) {
-            newVelocity.y += 5;
+            moveY += Constants.PLAYER_SPEED;
             lastDirection = Direction.DOWN;
         }
         if (input.left) {
-            newVelocity.x -= 5;
+            moveX -= Constants.PLAYER_SPEED;
             lastDirection = Direction.LEFT;
         }
         if (input.right) {
-            newVelocity.x += 5;
+            moveX += Constants.PLAYER_SPEED;
             lastDirection = Direction.RIGHT;
         }
 
-        Vector2D originalPosition = new Vector2D(position.x, position.y);
+        double originalX = position.x;
+        double originalY = position.y;
 
-        Vector2D newPosition = new Vector2D(
-                position.x + newVelocity.x,
-                position.y + newVelocity.y
-        );
-
-        position.x = newPosition.x;
-        position.y = newPosition.y;
+        position.x = originalX + moveX;
+        position.y = originalY + moveY;
 
         if (checkCollision()) {
-            position.x = originalPosition.x;
-            position.y = originalPosition.y;
+            position.x = originalX;
+            position.y = originalY;
 
-            if (newVelocity.x != 0) {
-                position.x += newVelocity.x;
+            if (moveX != 0) {
+                position.x += moveX;
                 if (checkCollision()) {
-                    position.x = originalPosition.x;
+                    position.x = originalX;
                 }
             }
 
-            if (newVelocity.y != 0) {
-                position.y += newVelocity.y;
+            if (moveY != 0) {
+                position.y += moveY;
                 if (checkCollision()) {
-                    position.y = originalPosition.y;
+                    position.y = originalY;
                 }
             }
         }
 
-        position.x = Math.max(0, Math.min(position.x, 800 - Constants.PLAYER_SIZE));
-        position.y = Math.max(0, Math.min(position.y, 600 - Constants.PLAYER_SIZE));
+        position.x = Math.max(0, Math.min(position.x, Constants.GAME_WIDTH - Constants.PLAYER_SIZE));
+        position.y = Math.max(0, Math.min(position.y, Constants.GAME_HEIGHT - Constants.PLAYER_SIZE));
 
-        velocity.x = position.x - originalPosition.x;
-        velocity.y = position.y - originalPosition.y;
+        velocity.x = position.x - originalX;
+        velocity.y = position.y - originalY;
+        syncGrid();
+    }
+
+    /**
+     * One tick of movement as the server runs it: {@link #update} followed by undoing the move if it
+     * ends inside an obstacle. Clients predicting their own player call this too so both sides agree.
+     */
+    public void move(Input input, ObstacleIndex obstacles) {
+        double oldX = position.x;
+        double oldY = position.y;
+        update(input);
+        if (obstacles.collides(position.x, position.y, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE)) {
+            setPosition(oldX, oldY);
+        }
+    }
+
+    /**
+     * Overwrites the simulated state with values received from the server.
+     */
+    public void restore(double x, double y, int health, boolean alive, Direction direction) {
+        this.health = health;
+        this.isAlive = alive;
+        this.lastDirection = direction;
+        setPosition(x, y);
     }
 
     public Color getObjectColor() {
-        return Color.color(redObj, greenObj, blueObj);
+        return Helper.getPlayerColor(id);
     }
 
     public Color getBarrelColor() {
-        return Color.color(redBarrel, greenBarrel, blueBarrel);
+        return Helper.getBarrelColor(id);
     }
 
     public Direction getLastDirection() {
@@ -144,15 +178,33 @@ public class Player implements Serializable {
     }
 
     private boolean checkCollision() {
-        for(Map.Entry<Integer, Player> _player : relatedPlayers.entrySet()) {
-            if(_player.getValue() != this) {
-                boolean check = CollisionUtils.checkPlayerCollision(this, _player.getValue());
-                if(check) return true;
+        playerGrid.query(position.x - Constants.PLAYER_SIZE, position.y - Constants.PLAYER_SIZE,
+                position.x + Constants.PLAYER_SIZE, position.y + Constants.PLAYER_SIZE, nearbyPlayers);
+        for (Player other : nearbyPlayers) {
+            if (other != this && CollisionUtils.checkPlayerCollision(this, other)) {
+                return true;
             }
         }
         return false;
     }
 
+    public void attachToGrid() {
+        gridHandle = playerGrid.insert(this, position.x, position.y);
+    }
+
+    public void detachFromGrid() {
+        if (gridHandle >= 0) {
+            playerGrid.remove(gridHandle);
+            gridHandle = -1;
+        }
+    }
+
+    private void syncGrid() {
+        if (gridHandle >= 0) {
+            playerGrid.move(gridHandle, position.x, position.y);
+        }
+    }
+
     public Vector2D getVelocity() {
         return velocity;
     }
@@ -168,7 +220,72 @@ public class Player implements Serializable {
     public void setVelocity(Vector2D velocity) {
         this.velocity = velocity;
     }
-    public void setPosition(Vector2D position) { this.position = position; }
+    public void setPosition(Vector2D position) {
+        this.position = position;
+        syncGrid();
+    }
+
+    public void setPosition(double x, double y) {
+        position.x = x;
+        position.y = y;
+        syncGrid();
+    }
+
+    /**
+     * Called by the connection's reader thread, the only producer for this player. Returns false when
+     * the buffer is full and the input was dropped.
+     */
+    public boolean queueInput(Input input) {
+        return pendingInputs.offer(input);
+    }
+
+    /**
+     * Called on the tick thread. Advances to the next queued input in order, if any, and returns the
+     * input now in effect; with nothing queued the previous input stays in effect.
+     */
+    public Input nextInput(int tick) {
+        Input next = pendingInputs.poll();
+        if (next != null) {
+            input = next;
+            lastProcessedInput = next.sequence;
+            inputDelayTicks = tick - next.tick;
+        }
+        return input;
+    }
+
+    public int getQueuedInputs() {
+        return pendingInputs.size();
+    }
+
+    public Input getInput() {
+        return input;
+    }
+
+    public int getLastProcessedInput() {
+        return lastProcessedInput;
+    }
+
+    /**
+     * Ticks from the state the client was answering to the tick that applied its latest input: about a
+     * round trip plus the time the input spent queued.
+     */
+    public int getInputDelayTicks() {
+        return inputDelayTicks;
+    }
+
+    /**
+     * Fires once per press of the fire button: holding it does not fire again, and a press within the
+     * cooldown of the last shot is ignored.
+     */
+    public boolean tryShoot(Input input, int tick, int cooldownTicks) {
+        boolean pressed = input.shooting && !fireHeld;
+        fireHeld = input.shooting;
+        if (!pressed || !isAlive || tick < nextShotTick) {
+            return false;
+        }
+        nextShotTick = tick + cooldownTicks;
+        return true;
+    }
 
     @Override
     public String toString() {
@@ -1,8 +1,6 @@
 package com.battle_royale.model;
 
-import java.io.Serializable;
-
-public class Vector2D implements Serializable {
+public class Vector2D {
     public double x;
     public double y;
 
@@ -0,0 +1,21 @@
+package com.battle_royale.network;
+
+import java.nio.ByteBuffer;
+
+public interface Connection {
+    void sendPacket(GamePacket packet);
+
+    /**
+     * Sends an already encoded frame. The same buffer may be handed to many connections,
+     * so implementations must write from a duplicate and never modify it.
+     */
+    void sendFrame(ByteBuffer frame);
+
+    /**
+     * Like {@link #sendFrame}, but the frame may be dropped in favour of a newer state frame
+     * if the client has not caught up with the previous one yet.
+     */
+    void sendState(ByteBuffer frame);
+
+    void close();
+}
@@ -0,0 +1,9 @@
+package com.battle_royale.network;
+
+public interface ConnectionListener {
+    void onConnect(Connection connection);
+
+    void onPacket(Connection connection, GamePacket packet);
+
+    void onDisconnect(Connection connection);
+}
@@ -1,9 +1,6 @@
 package com.battle_royale.network;
 
-import java.io.Serializable;
-
-public class GamePacket implements Serializable {
-    private static final long serialVersionUID = 1L;
+public class GamePacket {
     public final PacketType type;
     public final Object data;
 
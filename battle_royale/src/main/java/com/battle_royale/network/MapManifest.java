@@ -0,0 +1,66 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Obstacle;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * The obstacle layout of a match, sent to each player once instead of in every snapshot. It is identified
+ * by a hash of the exact obstacle coordinates, so clients can cache layouts by hash and verify what they
+ * receive or load.
+ */
+public class MapManifest {
+    private final long hash;
+    private final List<Obstacle> obstacles;
+
+    public MapManifest(long hash, List<Obstacle> obstacles) {
+        this.hash = hash;
+        this.obstacles = obstacles;
+    }
+
+    public static MapManifest of(List<Obstacle> obstacles) {
+        return new MapManifest(hashOf(obstacles), List.copyOf(obstacles));
+    }
+
+    /**
+     * First eight bytes of the SHA-256 of the obstacle count and each obstacle's x, y, width and height.
+     */
+    public static long hashOf(List<Obstacle> obstacles) {
+        ByteBuffer content = ByteBuffer.allocate(4 + obstacles.size() * 4 * 8);
+        content.putInt(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            content.putDouble(obstacle.getPosition().x);
+            content.putDouble(obstacle.getPosition().y);
+            content.putDouble(obstacle.getWidth());
+            content.putDouble(obstacle.getHeight());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.array());
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Whether the obstacles still match the hash they were sent under.
+     */
+    public boolean isIntact() {
+        return hashOf(obstacles) == hash;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public String getHashHex() {
+        return String.format("%016x", hash);
+    }
+
+    public List<Obstacle> getObstacles() {
+        return obstacles;
+    }
+}
@@ -0,0 +1,283 @@
+package com.battle_royale.network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking transport: the calling thread accepts connections and hands them round-robin
+ * to a fixed set of selector threads, so the thread count does not depend on the number of players.
+ */
+public class NioServer {
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final int port;
+    private final ConnectionListener listener;
+    private final IoWorker[] workers;
+    private volatile boolean isRunning = true;
+
+    public NioServer(int port, int ioThreads, ConnectionListener listener) {
+        this.port = port;
+        this.listener = listener;
+        this.workers = new IoWorker[ioThreads];
+    }
+
+    public void start() throws IOException {
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new IoWorker();
+            Thread thread = new Thread(workers[i], "nio-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+            System.out.println("Server started on port " + port + " (nio, " + workers.length + " I/O threads)");
+
+            int next = 0;
+            while (isRunning) {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                workers[next].register(channel);
+                next = (next + 1) % workers.length;
+            }
+        }
+    }
+
+    public void stop() {
+        isRunning = false;
+        for (IoWorker worker : workers) {
+            if (worker != null) {
+                worker.selector.wakeup();
+            }
+        }
+    }
+
+    private class IoWorker implements Runnable {
+        private final Selector selector;
+        private final Queue<NioConnection> pendingRegistrations = new ConcurrentLinkedQueue<>();
+        private final Queue<NioConnection> pendingFlushes = new ConcurrentLinkedQueue<>();
+
+        IoWorker() throws IOException {
+            this.selector = Selector.open();
+        }
+
+        void register(SocketChannel channel) {
+            pendingRegistrations.add(new NioConnection(channel, this));
+            selector.wakeup();
+        }
+
+        void requestFlush(NioConnection connection) {
+            pendingFlushes.add(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (isRunning) {
+                try {
+                    selector.select();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    return;
+                }
+
+                NioConnection pending;
+                while ((pending = pendingRegistrations.poll()) != null) {
+                    pending.register();
+                }
+                while ((pending = pendingFlushes.poll()) != null) {
+                    pending.flushPending();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    NioConnection connection = (NioConnection) key.attachment();
+                    if (key.isValid() && key.isReadable()) {
+                        connection.read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flushPending();
+                    }
+                }
+            }
+        }
+    }
+
+    private class NioConnection implements Connection {
+        private final SocketChannel channel;
+        private final IoWorker worker;
+        private final OutboundQueue outbound = new OutboundQueue();
+        private final AtomicBoolean flushRequested = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final ArrayDeque<ByteBuffer> writing = new ArrayDeque<>();
+        private ByteBuffer[] gatherBuffer = new ByteBuffer[8];
+        private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private SelectionKey key;
+        private boolean writeInterest;
+
+        NioConnection(SocketChannel channel, IoWorker worker) {
+            this.channel = channel;
+            this.worker = worker;
+        }
+
+        void register() {
+            try {
+                key = channel.register(worker.selector, SelectionKey.OP_READ, this);
+            } catch (ClosedChannelException e) {
+                close();
+                return;
+            }
+            listener.onConnect(this);
+        }
+
+        void read() {
+            try {
+                if (channel.read(readBuffer) < 0) {
+                    close();
+                    return;
+                }
+                readBuffer.flip();
+                while (readBuffer.remaining() >= PacketCodec.HEADER_SIZE) {
+                    int length = readBuffer.getInt(readBuffer.position());
+                    PacketCodec.checkFrameLength(length);
+                    if (readBuffer.remaining() < PacketCodec.HEADER_SIZE + length) {
+                        if (PacketCodec.HEADER_SIZE + length > readBuffer.capacity()) {
+                            readBuffer = ByteBuffer.allocate(PacketCodec.HEADER_SIZE + length).put(readBuffer).flip();
+                        }
+                        break;
+                    }
+                    int frameEnd = readBuffer.position() + PacketCodec.HEADER_SIZE + length;
+                    ByteBuffer frame = readBuffer.slice(readBuffer.position() + PacketCodec.HEADER_SIZE, length);
+                    readBuffer.position(frameEnd);
+                    try {
+                        listener.onPacket(this, PacketCodec.decode(frame));
+                    } catch (ProtocolException e) {
+                        System.err.println("Invalid packet received from " + channel.getRemoteAddress());
+                        e.printStackTrace();
+                    }
+                }
+                readBuffer.compact();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        @Override
+        public void sendPacket(GamePacket packet) {
+            sendFrame(PacketCodec.encode(packet));
+        }
+
+        @Override
+        public void sendFrame(ByteBuffer frame) {
+            if (outbound.offerReliable(frame)) {
+                scheduleFlush();
+            } else {
+                dropSlowClient();
+            }
+        }
+
+        @Override
+        public void sendState(ByteBuffer frame) {
+            if (outbound.offerState(frame)) {
+                scheduleFlush();
+            } else {
+                dropSlowClient();
+            }
+        }
+
+        private void scheduleFlush() {
+            if (flushRequested.compareAndSet(false, true)) {
+                worker.requestFlush(this);
+            }
+        }
+
+        private void dropSlowClient() {
+            if (!closed.get()) {
+                System.err.println("Disconnecting " + channel.socket().getRemoteSocketAddress() +
+                        ", outbound queue is too far behind");
+                close();
+            }
+        }
+
+        // Only called on the worker thread.
+        void flushPending() {
+            flushRequested.set(false);
+            if (closed.get()) {
+                return;
+            }
+
+            // Frames stay in the outbound queue until the previous batch is fully written,
+            // so a backed-up socket lets newer state frames replace older ones there. Once a
+            // batch is done the queue is drained again, since frames queued in the meantime
+            // already used up their flush request.
+            try {
+                while (true) {
+                    if (writing.isEmpty()) {
+                        ByteBuffer frame;
+                        while ((frame = outbound.poll()) != null) {
+                            writing.add(frame.duplicate());
+                        }
+                        if (writing.isEmpty()) {
+                            break;
+                        }
+                    }
+                    if (gatherBuffer.length < writing.size()) {
+                        gatherBuffer = new ByteBuffer[Integer.highestOneBit(writing.size()) << 1];
+                    }
+                    int count = 0;
+                    for (ByteBuffer pending : writing) {
+                        gatherBuffer[count++] = pending;
+                    }
+                    channel.write(gatherBuffer, 0, count);
+                    Arrays.fill(gatherBuffer, 0, count, null);
+                    while (!writing.isEmpty() && !writing.peek().hasRemaining()) {
+                        writing.poll();
+                    }
+                    if (!writing.isEmpty()) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+
+            boolean wantWrite = !writing.isEmpty();
+            if (wantWrite != writeInterest && key.isValid()) {
+                writeInterest = wantWrite;
+                key.interestOps(wantWrite ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            outbound.close();
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            if (key != null) {
+                listener.onDisconnect(this);
+            }
+        }
+    }
+}
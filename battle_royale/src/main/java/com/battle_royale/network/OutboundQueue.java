@@ -0,0 +1,133 @@
+package com.battle_royale.network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Frames waiting to be written to one client. Control packets are kept in order and never dropped,
+ * while state frames share a single slot so a newer snapshot replaces one the writer has not picked up yet.
+ * Offers fail once the client falls too far behind, and the caller is expected to disconnect it.
+ */
+public class OutboundQueue {
+    public static final int DEFAULT_RELIABLE_CAPACITY = 256;
+    public static final long DEFAULT_MAX_STATE_LAG_MS = 2000;
+
+    // Lock and condition instead of a monitor so a virtual-thread writer can park without pinning.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<ByteBuffer> reliable = new ArrayDeque<>();
+    private final int reliableCapacity;
+    private final long maxStateLagNanos;
+    private ByteBuffer pendingState;
+    private long pendingStateSince;
+    private long droppedStates;
+    private boolean closed;
+
+    public OutboundQueue() {
+        this(DEFAULT_RELIABLE_CAPACITY, DEFAULT_MAX_STATE_LAG_MS);
+    }
+
+    public OutboundQueue(int reliableCapacity, long maxStateLagMs) {
+        this.reliableCapacity = reliableCapacity;
+        this.maxStateLagNanos = TimeUnit.MILLISECONDS.toNanos(maxStateLagMs);
+    }
+
+    public boolean offerReliable(ByteBuffer frame) {
+        lock.lock();
+        try {
+            if (closed || reliable.size() >= reliableCapacity) {
+                return false;
+            }
+            reliable.add(frame);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean offerState(ByteBuffer frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            long now = System.nanoTime();
+            if (pendingState != null) {
+                droppedStates++;
+                if (now - pendingStateSince > maxStateLagNanos) {
+                    return false;
+                }
+            } else {
+                pendingStateSince = now;
+            }
+            pendingState = frame;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ByteBuffer poll() {
+        lock.lock();
+        try {
+            ByteBuffer frame = reliable.poll();
+            if (frame == null) {
+                frame = pendingState;
+                pendingState = null;
+            }
+            return frame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next frame, or returns null once the queue has been closed.
+     */
+    public ByteBuffer take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!closed && reliable.isEmpty() && pendingState == null) {
+                notEmpty.await();
+            }
+            return closed ? null : poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return reliable.isEmpty() && pendingState == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedStates() {
+        lock.lock();
+        try {
+            return droppedStates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            reliable.clear();
+            pendingState = null;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.model.Vector2D;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary wire format shared by the server and the client.
+ * Every frame is {@code [int length][byte type][payload]}, where length counts the type byte and the payload.
+ */
+public final class PacketCodec {
+    public static final int HEADER_SIZE = 4;
+    public static final int MAX_FRAME_LENGTH = 1 << 20;
+
+    private static final PacketType[] TYPES = PacketType.values();
+    private static final Player.Direction[] DIRECTIONS = Player.Direction.values();
+
+    private static final int PLAYER_STATE_SIZE = 4 + 4 + 4 + 2 + 1 + 4;
+    private static final int PROJECTILE_STATE_SIZE = 4 + 4 + 4 + 4 * 4;
+    private static final int OBSTACLE_SIZE = 4 * 8;
+
+    private static final int INPUT_UP = 1;
+    private static final int INPUT_DOWN = 1 << 1;
+    private static final int INPUT_LEFT = 1 << 2;
+    private static final int INPUT_RIGHT = 1 << 3;
+    private static final int INPUT_SHOOTING = 1 << 4;
+
+    private static final int PLAYER_ALIVE = 1;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private PacketCodec() {}
+
+    /**
+     * Encodes a frame into a heap buffer. A frame may be handed to many connections as is, since they
+     * write from duplicates; the blocking transport writes straight from its backing array.
+     */
+    public static ByteBuffer encode(GamePacket packet) {
+        int length = 1 + payloadSize(packet);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length);
+        buffer.putInt(length);
+        buffer.put((byte) packet.type.ordinal());
+        writePayload(packet, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static GamePacket decode(ByteBuffer frame) throws ProtocolException {
+        try {
+            int typeIndex = frame.get() & 0xFF;
+            if (typeIndex >= TYPES.length) {
+                throw new ProtocolException("Unknown packet type " + typeIndex);
+            }
+            PacketType type = TYPES[typeIndex];
+            GamePacket packet = new GamePacket(type, readPayload(type, frame));
+            if (frame.hasRemaining()) {
+                throw new ProtocolException("Trailing bytes in " + type + " packet");
+            }
+            return packet;
+        } catch (BufferUnderflowException e) {
+            throw new ProtocolException("Truncated packet");
+        }
+    }
+
+    public static void write(DataOutputStream out, GamePacket packet) throws IOException {
+        ByteBuffer frame = encode(packet);
+        out.write(frame.array(), frame.arrayOffset(), frame.limit());
+        out.flush();
+    }
+
+    public static GamePacket read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkFrameLength(length);
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return decode(ByteBuffer.wrap(frame));
+    }
+
+    public static void checkFrameLength(int length) throws IOException {
+        if (length < 1 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid frame length " + length);
+        }
+    }
+
+    private static int payloadSize(GamePacket packet) {
+        switch (packet.type) {
+            case PLAYER_INPUT:
+                return 1 + 4 + 4;
+            case PLAYER_JOIN:
+                return packet.data != null ? 4 : 0;
+            case PLAYER_ID_ASSIGN:
+            case MATCH_ASSIGN:
+            case STATE_ACK:
+                return 4;
+            case MAP_HASH:
+            case MAP_REQUEST:
+            case TICK_RATE:
+                return 8;
+            case MAP_MANIFEST:
+                return 8 + 2 + ((MapManifest) packet.data).getObstacles().size() * OBSTACLE_SIZE;
+            case GAME_STATE:
+                Snapshot snapshot = (Snapshot) packet.data;
+                return 4 + 2 + snapshot.getPlayers().size() * PLAYER_STATE_SIZE
+                        + 2 + snapshot.getProjectiles().size() * PROJECTILE_STATE_SIZE;
+            case GAME_STATE_DELTA:
+                SnapshotDelta delta = (SnapshotDelta) packet.data;
+                return 4 + 4 + 2 + delta.getChangedPlayers().size() * PLAYER_STATE_SIZE
+                        + 2 + delta.getRemovedPlayers().size() * 4
+                        + 2 + delta.getAddedProjectiles().size() * PROJECTILE_STATE_SIZE
+                        + 2 + delta.getRemovedProjectiles().size() * 4;
+            default:
+                return 0;
+        }
+    }
+
+    private static void writePayload(GamePacket packet, ByteBuffer buffer) {
+        switch (packet.type) {
+            case PLAYER_INPUT:
+                writeInput((Player.Input) packet.data, buffer);
+                break;
+            case PLAYER_JOIN:
+                if (packet.data != null) {
+                    buffer.putInt((Integer) packet.data);
+                }
+                break;
+            case PLAYER_ID_ASSIGN:
+            case MATCH_ASSIGN:
+            case STATE_ACK:
+                buffer.putInt((Integer) packet.data);
+                break;
+            case MAP_HASH:
+            case MAP_REQUEST:
+                buffer.putLong((Long) packet.data);
+                break;
+            case TICK_RATE:
+                buffer.putDouble((Double) packet.data);
+                break;
+            case MAP_MANIFEST:
+                writeManifest((MapManifest) packet.data, buffer);
+                break;
+            case GAME_STATE:
+                writeSnapshot((Snapshot) packet.data, buffer);
+                break;
+            case GAME_STATE_DELTA:
+                writeDelta((SnapshotDelta) packet.data, buffer);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static Object readPayload(PacketType type, ByteBuffer buffer) throws ProtocolException {
+        switch (type) {
+            case PLAYER_INPUT:
+                return readInput(buffer);
+            case PLAYER_JOIN:
+                // The requested match id is optional.
+                return buffer.remaining() >= 4 ? buffer.getInt() : null;
+            case PLAYER_ID_ASSIGN:
+            case MATCH_ASSIGN:
+            case STATE_ACK:
+                return buffer.getInt();
+            case MAP_HASH:
+            case MAP_REQUEST:
+                return buffer.getLong();
+            case TICK_RATE:
+                return buffer.getDouble();
+            case MAP_MANIFEST:
+                return readManifest(buffer);
+            case GAME_STATE:
+                return readSnapshot(buffer);
+            case GAME_STATE_DELTA:
+                return readDelta(buffer);
+            default:
+                return null;
+        }
+    }
+
+    private static void writeInput(Player.Input input, ByteBuffer buffer) {
+        int flags = 0;
+        if (input.up) flags |= INPUT_UP;
+        if (input.down) flags |= INPUT_DOWN;
+        if (input.left) flags |= INPUT_LEFT;
+        if (input.right) flags |= INPUT_RIGHT;
+        if (input.shooting) flags |= INPUT_SHOOTING;
+        buffer.put((byte) flags);
+        buffer.putInt(input.sequence);
+        buffer.putInt(input.tick);
+    }
+
+    private static Player.Input readInput(ByteBuffer buffer) {
+        int flags = buffer.get();
+        Player.Input input = new Player.Input();
+        input.up = (flags & INPUT_UP) != 0;
+        input.down = (flags & INPUT_DOWN) != 0;
+        input.left = (flags & INPUT_LEFT) != 0;
+        input.right = (flags & INPUT_RIGHT) != 0;
+        input.shooting = (flags & INPUT_SHOOTING) != 0;
+        input.sequence = buffer.getInt();
+        input.tick = buffer.getInt();
+        return input;
+    }
+
+    private static void writeSnapshot(Snapshot snapshot, ByteBuffer buffer) {
+        buffer.putInt(snapshot.getTick());
+
+        putCount(snapshot.getPlayers().size(), buffer);
+        for (Snapshot.PlayerState player : snapshot.getPlayers()) {
+            writePlayerState(player, buffer);
+        }
+
+        putCount(snapshot.getProjectiles().size(), buffer);
+        for (Snapshot.ProjectileState projectile : snapshot.getProjectiles()) {
+            writeProjectileState(projectile, buffer);
+        }
+    }
+
+    private static Snapshot readSnapshot(ByteBuffer buffer) throws ProtocolException {
+        int tick = buffer.getInt();
+
+        int playerCount = buffer.getShort() & 0xFFFF;
+        List<Snapshot.PlayerState> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(readPlayerState(buffer));
+        }
+
+        int projectileCount = buffer.getShort() & 0xFFFF;
+        List<Snapshot.ProjectileState> projectiles = new ArrayList<>(projectileCount);
+        for (int i = 0; i < projectileCount; i++) {
+            projectiles.add(readProjectileState(buffer));
+        }
+
+        return new Snapshot(tick, players, projectiles);
+    }
+
+    // Obstacles are sent as doubles so clients predict collisions against exactly the server's layout.
+    private static void writeManifest(MapManifest manifest, ByteBuffer buffer) {
+        buffer.putLong(manifest.getHash());
+        putCount(manifest.getObstacles().size(), buffer);
+        for (Obstacle obstacle : manifest.getObstacles()) {
+            buffer.putDouble(obstacle.getPosition().x);
+            buffer.putDouble(obstacle.getPosition().y);
+            buffer.putDouble(obstacle.getWidth());
+            buffer.putDouble(obstacle.getHeight());
+        }
+    }
+
+    private static MapManifest readManifest(ByteBuffer buffer) {
+        long hash = buffer.getLong();
+        int obstacleCount = buffer.getShort() & 0xFFFF;
+        List<Obstacle> obstacles = new ArrayList<>(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            Vector2D position = new Vector2D(buffer.getDouble(), buffer.getDouble());
+            obstacles.add(new Obstacle(position, buffer.getDouble(), buffer.getDouble()));
+        }
+        return new MapManifest(hash, obstacles);
+    }
+
+    private static void writeDelta(SnapshotDelta delta, ByteBuffer buffer) {
+        buffer.putInt(delta.getTick());
+        buffer.putInt(delta.getBaselineTick());
+
+        putCount(delta.getChangedPlayers().size(), buffer);
+        for (Snapshot.PlayerState player : delta.getChangedPlayers()) {
+            writePlayerState(player, buffer);
+        }
+        writeIds(delta.getRemovedPlayers(), buffer);
+
+        putCount(delta.getAddedProjectiles().size(), buffer);
+        for (Snapshot.ProjectileState projectile : delta.getAddedProjectiles()) {
+            writeProjectileState(projectile, buffer);
+        }
+        writeIds(delta.getRemovedProjectiles(), buffer);
+    }
+
+    private static SnapshotDelta readDelta(ByteBuffer buffer) throws ProtocolException {
+        int tick = buffer.getInt();
+        int baselineTick = buffer.getInt();
+
+        int changedCount = buffer.getShort() & 0xFFFF;
+        List<Snapshot.PlayerState> changedPlayers = new ArrayList<>(changedCount);
+        for (int i = 0; i < changedCount; i++) {
+            changedPlayers.add(readPlayerState(buffer));
+        }
+        List<Integer> removedPlayers = readIds(buffer);
+
+        int addedCount = buffer.getShort() & 0xFFFF;
+        List<Snapshot.ProjectileState> addedProjectiles = new ArrayList<>(addedCount);
+        for (int i = 0; i < addedCount; i++) {
+            addedProjectiles.add(readProjectileState(buffer));
+        }
+        List<Integer> removedProjectiles = readIds(buffer);
+
+        return new SnapshotDelta(tick, baselineTick, changedPlayers, removedPlayers, addedProjectiles, removedProjectiles);
+    }
+
+    // Counts go out as unsigned shorts; refuse to encode a list that would wrap instead of corrupting the frame.
+    private static void putCount(int count, ByteBuffer buffer) {
+        if (count > MAX_COUNT) {
+            throw new IllegalArgumentException("Too many entries to encode: " + count);
+        }
+        buffer.putShort((short) count);
+    }
+
+    private static void writeIds(List<Integer> ids, ByteBuffer buffer) {
+        putCount(ids.size(), buffer);
+        for (Integer id : ids) {
+            buffer.putInt(id);
+        }
+    }
+
+    private static List<Integer> readIds(ByteBuffer buffer) {
+        int count = buffer.getShort() & 0xFFFF;
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(buffer.getInt());
+        }
+        return ids;
+    }
+
+    private static void writeProjectileState(Snapshot.ProjectileState projectile, ByteBuffer buffer) {
+        buffer.putInt(projectile.id);
+        buffer.putInt(projectile.ownerId);
+        buffer.putInt(projectile.spawnTick);
+        buffer.putFloat((float) projectile.originX);
+        buffer.putFloat((float) projectile.originY);
+        buffer.putFloat((float) projectile.velocityX);
+        buffer.putFloat((float) projectile.velocityY);
+    }
+
+    private static Snapshot.ProjectileState readProjectileState(ByteBuffer buffer) {
+        return new Snapshot.ProjectileState(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                buffer.getFloat(), buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+    }
+
+    private static void writePlayerState(Snapshot.PlayerState player, ByteBuffer buffer) {
+        buffer.putInt(player.id);
+        buffer.putFloat((float) player.x);
+        buffer.putFloat((float) player.y);
+        buffer.putShort((short) player.health);
+        int flags = player.alive ? PLAYER_ALIVE : 0;
+        flags |= player.direction.ordinal() << 1;
+        buffer.put((byte) flags);
+        buffer.putInt(player.lastProcessedInput);
+    }
+
+    private static Snapshot.PlayerState readPlayerState(ByteBuffer buffer) throws ProtocolException {
+        int id = buffer.getInt();
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        int health = buffer.getShort();
+        int flags = buffer.get() & 0xFF;
+        int direction = flags >> 1;
+        if (direction >= DIRECTIONS.length) {
+            throw new ProtocolException("Invalid direction " + direction);
+        }
+        return new Snapshot.PlayerState(id, x, y, health, (flags & PLAYER_ALIVE) != 0, DIRECTIONS[direction],
+                buffer.getInt());
+    }
+}
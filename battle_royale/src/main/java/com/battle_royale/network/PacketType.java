@@ -2,10 +2,14 @@ package com.battle_royale.network;
 
 public enum PacketType {
     PLAYER_JOIN,
-    PLAYER_LEAVE,
     PLAYER_INPUT,
     GAME_STATE,
-    PLAYER_SHOOT,
     STATE_ACK,
     PLAYER_ID_ASSIGN,
+    GAME_STATE_DELTA,
+    MATCH_ASSIGN,
+    MAP_HASH,
+    MAP_REQUEST,
+    MAP_MANIFEST,
+    TICK_RATE,
 }
\ No newline at end of file
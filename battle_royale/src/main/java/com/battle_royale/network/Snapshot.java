@@ -0,0 +1,104 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Snapshot {
+    private final int tick;
+    private final List<PlayerState> players;
+    private final List<ProjectileState> projectiles;
+
+    public static class PlayerState {
+        public final int id;
+        public final double x, y;
+        public final int health;
+        public final boolean alive;
+        public final Player.Direction direction;
+        public final int lastProcessedInput;
+
+        public PlayerState(int id, double x, double y, int health, boolean alive, Player.Direction direction,
+                           int lastProcessedInput) {
+            this.id = id;
+            this.x = x;
+            this.y = y;
+            this.health = health;
+            this.alive = alive;
+            this.direction = direction;
+            this.lastProcessedInput = lastProcessedInput;
+        }
+
+        public PlayerState(Player player) {
+            this(player.getId(), player.getPosition().x, player.getPosition().y,
+                    player.getHealth(), player.isAlive(), player.getLastDirection(), player.getLastProcessedInput());
+        }
+
+        public boolean sameAs(PlayerState other) {
+            return other != null && id == other.id && x == other.x && y == other.y &&
+                    health == other.health && alive == other.alive && direction == other.direction &&
+                    lastProcessedInput == other.lastProcessedInput;
+        }
+    }
+
+    public static class ProjectileState {
+        public final int id;
+        public final int ownerId;
+        public final int spawnTick;
+        public final double originX, originY;
+        public final double velocityX, velocityY;
+
+        public ProjectileState(int id, int ownerId, int spawnTick,
+                               double originX, double originY, double velocityX, double velocityY) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.spawnTick = spawnTick;
+            this.originX = originX;
+            this.originY = originY;
+            this.velocityX = velocityX;
+            this.velocityY = velocityY;
+        }
+
+        public double getX(double tick) {
+            return originX + velocityX * (tick - spawnTick);
+        }
+
+        public double getY(double tick) {
+            return originY + velocityY * (tick - spawnTick);
+        }
+    }
+
+    public Snapshot(int tick, List<PlayerState> players, List<ProjectileState> projectiles) {
+        this.tick = tick;
+        this.players = players;
+        this.projectiles = projectiles;
+    }
+
+    public int getTick() { return tick; }
+    public List<PlayerState> getPlayers() { return players; }
+    public List<ProjectileState> getProjectiles() { return projectiles; }
+
+    public PlayerState getPlayer(int id) {
+        for (PlayerState player : players) {
+            if (player.id == id) return player;
+        }
+        return null;
+    }
+
+    public List<Integer> getPlayerIds() {
+        List<Integer> ids = new ArrayList<>(players.size());
+        for (PlayerState player : players) {
+            ids.add(player.id);
+        }
+        return ids;
+    }
+
+    @Override
+    public String toString() {
+        return "Snapshot{" +
+                "tick=" + tick +
+                ", players=" + players.size() +
+                ", projectiles=" + projectiles.size() +
+                '}';
+    }
+}
@@ -0,0 +1,103 @@
+package com.battle_royale.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class SnapshotDelta {
+    private final int tick;
+    private final int baselineTick;
+    private final List<Snapshot.PlayerState> changedPlayers;
+    private final List<Integer> removedPlayers;
+    private final List<Snapshot.ProjectileState> addedProjectiles;
+    private final List<Integer> removedProjectiles;
+
+    public SnapshotDelta(int tick, int baselineTick,
+                         List<Snapshot.PlayerState> changedPlayers, List<Integer> removedPlayers,
+                         List<Snapshot.ProjectileState> addedProjectiles, List<Integer> removedProjectiles) {
+        this.tick = tick;
+        this.baselineTick = baselineTick;
+        this.changedPlayers = changedPlayers;
+        this.removedPlayers = removedPlayers;
+        this.addedProjectiles = addedProjectiles;
+        this.removedProjectiles = removedProjectiles;
+    }
+
+    public static SnapshotDelta between(Snapshot baseline, Snapshot current) {
+        Map<Integer, Snapshot.PlayerState> baselinePlayers = new HashMap<>();
+        for (Snapshot.PlayerState player : baseline.getPlayers()) {
+            baselinePlayers.put(player.id, player);
+        }
+
+        List<Snapshot.PlayerState> changedPlayers = new ArrayList<>();
+        for (Snapshot.PlayerState player : current.getPlayers()) {
+            Snapshot.PlayerState previous = baselinePlayers.remove(player.id);
+            if (!player.sameAs(previous)) {
+                changedPlayers.add(player);
+            }
+        }
+        List<Integer> removedPlayers = new ArrayList<>(baselinePlayers.keySet());
+
+        Set<Integer> baselineProjectiles = new HashSet<>();
+        for (Snapshot.ProjectileState projectile : baseline.getProjectiles()) {
+            baselineProjectiles.add(projectile.id);
+        }
+
+        List<Snapshot.ProjectileState> addedProjectiles = new ArrayList<>();
+        for (Snapshot.ProjectileState projectile : current.getProjectiles()) {
+            if (!baselineProjectiles.remove(projectile.id)) {
+                addedProjectiles.add(projectile);
+            }
+        }
+        List<Integer> removedProjectiles = new ArrayList<>(baselineProjectiles);
+
+        return new SnapshotDelta(current.getTick(), baseline.getTick(),
+                changedPlayers, removedPlayers, addedProjectiles, removedProjectiles);
+    }
+
+    public Snapshot applyTo(Snapshot baseline) {
+        Map<Integer, Snapshot.PlayerState> players = new HashMap<>();
+        for (Snapshot.PlayerState player : baseline.getPlayers()) {
+            players.put(player.id, player);
+        }
+        for (Integer id : removedPlayers) {
+            players.remove(id);
+        }
+        for (Snapshot.PlayerState player : changedPlayers) {
+            players.put(player.id, player);
+        }
+
+        Set<Integer> removed = new HashSet<>(removedProjectiles);
+        List<Snapshot.ProjectileState> projectiles = new ArrayList<>();
+        for (Snapshot.ProjectileState projectile : baseline.getProjectiles()) {
+            if (!removed.contains(projectile.id)) {
+                projectiles.add(projectile);
+            }
+        }
+        projectiles.addAll(addedProjectiles);
+
+        return new Snapshot(tick, new ArrayList<>(players.values()), projectiles);
+    }
+
+    public int getTick() { return tick; }
+    public int getBaselineTick() { return baselineTick; }
+    public List<Snapshot.PlayerState> getChangedPlayers() { return changedPlayers; }
+    public List<Integer> getRemovedPlayers() { return removedPlayers; }
+    public List<Snapshot.ProjectileState> getAddedProjectiles() { return addedProjectiles; }
+    public List<Integer> getRemovedProjectiles() { return removedProjectiles; }
+
+    @Override
+    public String toString() {
+        return "SnapshotDelta{" +
+                "tick=" + tick +
+                ", baselineTick=" + baselineTick +
+                ", changedPlayers=" + changedPlayers.size() +
+                ", removedPlayers=" + removedPlayers.size() +
+                ", addedProjectiles=" + addedProjectiles.size() +
+                ", removedProjectiles=" + removedProjectiles.size() +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.battle_royale.network;
+
+public class SnapshotHistory {
+    private final Snapshot[] snapshots;
+
+    public SnapshotHistory(int capacity) {
+        this.snapshots = new Snapshot[capacity];
+    }
+
+    public synchronized void add(Snapshot snapshot) {
+        snapshots[Math.floorMod(snapshot.getTick(), snapshots.length)] = snapshot;
+    }
+
+    public synchronized Snapshot get(int tick) {
+        Snapshot snapshot = snapshots[Math.floorMod(tick, snapshots.length)];
+        return snapshot != null && snapshot.getTick() == tick ? snapshot : null;
+    }
+}
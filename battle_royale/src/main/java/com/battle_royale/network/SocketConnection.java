@@ -0,0 +1,121 @@
+package com.battle_royale.network;
+
+import java.io.*;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class SocketConnection implements Connection, Runnable {
+    private final Socket socket;
+    private final ConnectionListener listener;
+    private final Thread.Builder writerThreads;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final OutboundQueue outbound = new OutboundQueue();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private byte[] writeScratch = new byte[0];
+
+    public SocketConnection(Socket socket, ConnectionListener listener, Thread.Builder writerThreads) throws IOException {
+        this.socket = socket;
+        this.listener = listener;
+        this.writerThreads = writerThreads;
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    @Override
+    public void run() {
+        writerThreads.start(this::writeLoop);
+        listener.onConnect(this);
+        try {
+            while (!closed.get()) {
+                try {
+                    GamePacket packet = PacketCodec.read(in);
+                    listener.onPacket(this, packet);
+                } catch (ProtocolException e) {
+                    System.err.println("Invalid packet received from " + socket.getRemoteSocketAddress());
+                    e.printStackTrace();
+                }
+            }
+        } catch (IOException e) {
+            // Remote side closed the socket or the connection broke.
+        } finally {
+            close();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            ByteBuffer frame;
+            while ((frame = outbound.take()) != null) {
+                write(frame);
+                if (outbound.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed.get()) {
+                System.err.println("Error sending packet to " + socket.getRemoteSocketAddress());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+    }
+
+    private void write(ByteBuffer frame) throws IOException {
+        ByteBuffer view = frame.duplicate();
+        int length = view.remaining();
+        if (view.hasArray()) {
+            out.write(view.array(), view.arrayOffset() + view.position(), length);
+        } else {
+            if (writeScratch.length < length) {
+                writeScratch = new byte[length];
+            }
+            view.get(writeScratch, 0, length);
+            out.write(writeScratch, 0, length);
+        }
+    }
+
+    @Override
+    public void sendPacket(GamePacket packet) {
+        sendFrame(PacketCodec.encode(packet));
+    }
+
+    @Override
+    public void sendFrame(ByteBuffer frame) {
+        if (!outbound.offerReliable(frame)) {
+            dropSlowClient();
+        }
+    }
+
+    @Override
+    public void sendState(ByteBuffer frame) {
+        if (!outbound.offerState(frame)) {
+            dropSlowClient();
+        }
+    }
+
+    private void dropSlowClient() {
+        if (!closed.get()) {
+            System.err.println("Disconnecting " + socket.getRemoteSocketAddress() + ", outbound queue is too far behind");
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        outbound.close();
+        try {
+            socket.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        listener.onDisconnect(this);
+    }
+}
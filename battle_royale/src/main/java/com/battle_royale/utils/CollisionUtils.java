@@ -13,10 +13,16 @@ public class CollisionUtils {
         Vector2D pos1 = player1.getPosition();
         Vector2D pos2 = player2.getPosition();
 
-        return pos1.x < pos2.x + Constants.PLAYER_SIZE &&
-                pos1.x + Constants.PLAYER_SIZE > pos2.x &&
-                pos1.y < pos2.y + Constants.PLAYER_SIZE &&
-                pos1.y + Constants.PLAYER_SIZE > pos2.y;
+        return overlaps(pos1.x, pos1.y, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE,
+                pos2.x, pos2.y, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE);
+    }
+
+    public static boolean overlaps(double x1, double y1, double width1, double height1,
+                                   double x2, double y2, double width2, double height2) {
+        return x1 < x2 + width2 &&
+                x1 + width1 > x2 &&
+                y1 < y2 + height2 &&
+                y1 + height1 > y2;
     }
 
 
@@ -10,4 +10,5 @@ public class Constants {
     public static final int PLAYER_MAX_HEALTH = 100;
     public static final int PROJECTILE_DAMAGE = 10;
     public static final long PROJECTILE_LIFETIME = 2000;
+    public static final long SHOOT_COOLDOWN = 250;
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.battle_royale.utils;
 
 import javafx.scene.paint.Color;
 
+import java.util.Random;
+
 public class Helper {
     public static Color getRandomColor() {
         double red = Math.random();
@@ -9,4 +11,14 @@ public class Helper {
         double blue = Math.random();
         return Color.color(red, green, blue);
     }
+
+    public static Color getPlayerColor(int playerId) {
+        Random random = new Random(playerId);
+        return Color.color(random.nextDouble(), random.nextDouble(), random.nextDouble());
+    }
+
+    public static Color getBarrelColor(int playerId) {
+        Random random = new Random(~playerId);
+        return Color.color(random.nextDouble(), random.nextDouble(), random.nextDouble());
+    }
 }
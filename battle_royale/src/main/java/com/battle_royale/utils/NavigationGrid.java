@@ -0,0 +1,163 @@
+package com.battle_royale.utils;
+
+/**
+ * Coarse walkability grid used while placing obstacles. Obstacles are blocked in one at a time and an
+ * obstacle is only kept if every free cell is still reachable from every other. Blocking cells can only
+ * split the free area through the cells around the new block, so the check first searches a small
+ * window around it to reconnect those neighbours and only walks the whole grid when that fails.
+ * Searches are iterative and reuse their buffers, so they neither recurse nor allocate.
+ * Not thread-safe.
+ */
+public class NavigationGrid {
+    private static final int LOCAL_SEARCH_MARGIN = 4;
+
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+    private final boolean[] blocked;
+    private final int[] queue;
+    private final int[] visited;
+    private final int[] changed;
+    private int visitStamp;
+    private int freeCells;
+
+    public NavigationGrid(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.blocked = new boolean[cols * rows];
+        this.queue = new int[cols * rows];
+        this.visited = new int[cols * rows];
+        this.changed = new int[cols * rows];
+        this.freeCells = cols * rows;
+    }
+
+    /**
+     * Blocks the cells covered by the box unless that would leave the free cells disconnected or leave
+     * none at all. Returns whether the cells were blocked.
+     */
+    public boolean tryBlock(double x, double y, double width, double height) {
+        int minCol = Math.max(0, (int) (x / cellSize));
+        int minRow = Math.max(0, (int) (y / cellSize));
+        int maxCol = Math.min(cols, (int) Math.ceil((x + width) / cellSize));
+        int maxRow = Math.min(rows, (int) Math.ceil((y + height) / cellSize));
+
+        int changedCount = 0;
+        for (int row = minRow; row < maxRow; row++) {
+            for (int col = minCol; col < maxCol; col++) {
+                int cell = row * cols + col;
+                if (!blocked[cell]) {
+                    blocked[cell] = true;
+                    changed[changedCount++] = cell;
+                }
+            }
+        }
+        freeCells -= changedCount;
+        if (changedCount == 0) {
+            return true;
+        }
+        if (freeCells > 0 && isConnectedAround(minCol, minRow, maxCol, maxRow)) {
+            return true;
+        }
+
+        for (int i = 0; i < changedCount; i++) {
+            blocked[changed[i]] = false;
+        }
+        freeCells += changedCount;
+        return false;
+    }
+
+    public boolean isBlocked(int col, int row) {
+        return blocked[row * cols + col];
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getFreeCells() {
+        return freeCells;
+    }
+
+    /**
+     * The free area was connected before the block, so it still is if the free cells on the ring around
+     * the block can reach each other.
+     */
+    private boolean isConnectedAround(int minCol, int minRow, int maxCol, int maxRow) {
+        int ringMinCol = Math.max(0, minCol - 1);
+        int ringMinRow = Math.max(0, minRow - 1);
+        int ringMaxCol = Math.min(cols - 1, maxCol);
+        int ringMaxRow = Math.min(rows - 1, maxRow);
+
+        int start = -1;
+        int ringCells = 0;
+        for (int row = ringMinRow; row <= ringMaxRow; row++) {
+            for (int col = ringMinCol; col <= ringMaxCol; col++) {
+                boolean inside = col >= minCol && col < maxCol && row >= minRow && row < maxRow;
+                if (!inside && !blocked[row * cols + col]) {
+                    if (start == -1) {
+                        start = row * cols + col;
+                    }
+                    ringCells++;
+                }
+            }
+        }
+        if (ringCells <= 1) {
+            return true;
+        }
+
+        search(start, Math.max(0, minCol - LOCAL_SEARCH_MARGIN), Math.max(0, minRow - LOCAL_SEARCH_MARGIN),
+                Math.min(cols - 1, maxCol + LOCAL_SEARCH_MARGIN - 1), Math.min(rows - 1, maxRow + LOCAL_SEARCH_MARGIN - 1));
+        if (ringReached(minCol, minRow, maxCol, maxRow, ringMinCol, ringMinRow, ringMaxCol, ringMaxRow)) {
+            return true;
+        }
+        return search(start, 0, 0, cols - 1, rows - 1) == freeCells;
+    }
+
+    private boolean ringReached(int minCol, int minRow, int maxCol, int maxRow,
+                                int ringMinCol, int ringMinRow, int ringMaxCol, int ringMaxRow) {
+        for (int row = ringMinRow; row <= ringMaxRow; row++) {
+            for (int col = ringMinCol; col <= ringMaxCol; col++) {
+                boolean inside = col >= minCol && col < maxCol && row >= minRow && row < maxRow;
+                int cell = row * cols + col;
+                if (!inside && !blocked[cell] && visited[cell] != visitStamp) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Breadth-first search over free cells inside the inclusive window. Returns the number of cells reached.
+     */
+    private int search(int start, int minCol, int minRow, int maxCol, int maxRow) {
+        int stamp = ++visitStamp;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited[start] = stamp;
+        while (head < tail) {
+            int cell = queue[head++];
+            int col = cell % cols;
+            int row = cell / cols;
+            if (col > minCol) tail = visit(cell - 1, stamp, tail);
+            if (col < maxCol) tail = visit(cell + 1, stamp, tail);
+            if (row > minRow) tail = visit(cell - cols, stamp, tail);
+            if (row < maxRow) tail = visit(cell + cols, stamp, tail);
+        }
+        return tail;
+    }
+
+    private int visit(int cell, int stamp, int tail) {
+        if (!blocked[cell] && visited[cell] != stamp) {
+            visited[cell] = stamp;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,96 @@
+package com.battle_royale.utils;
+
+import com.battle_royale.model.Obstacle;
+
+import java.util.List;
+
+/**
+ * Read-only grid over the static obstacles. Every obstacle is listed in each cell it overlaps, packed
+ * into one int array with per-cell offsets, and the bounds live in primitive arrays. A box query only
+ * looks at the few cells under the box, so its cost does not depend on how many obstacles the map has.
+ */
+public class ObstacleIndex {
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellObstacles;
+    private final double[] minX, minY, maxX, maxY;
+
+    public ObstacleIndex(List<Obstacle> obstacles, double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+        int count = obstacles.size();
+        minX = new double[count];
+        minY = new double[count];
+        maxX = new double[count];
+        maxY = new double[count];
+        for (int i = 0; i < count; i++) {
+            Obstacle obstacle = obstacles.get(i);
+            minX[i] = obstacle.getPosition().x;
+            minY[i] = obstacle.getPosition().y;
+            maxX[i] = minX[i] + obstacle.getWidth();
+            maxY[i] = minY[i] + obstacle.getHeight();
+        }
+
+        cellStart = new int[cols * rows + 1];
+        for (int i = 0; i < count; i++) {
+            for (int row = row(minY[i]); row <= row(maxY[i]); row++) {
+                for (int col = column(minX[i]); col <= column(maxX[i]); col++) {
+                    cellStart[row * cols + col + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cols * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        cellObstacles = new int[cellStart[cols * rows]];
+        int[] fill = new int[cols * rows];
+        for (int i = 0; i < count; i++) {
+            for (int row = row(minY[i]); row <= row(maxY[i]); row++) {
+                for (int col = column(minX[i]); col <= column(maxX[i]); col++) {
+                    int cell = row * cols + col;
+                    cellObstacles[cellStart[cell] + fill[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Same test as {@link Obstacle#collidesWith} against every obstacle, for a box at (x, y).
+     */
+    public boolean collides(double x, double y, double width, double height) {
+        double right = x + width;
+        double bottom = y + height;
+        int maxRow = row(bottom);
+        int maxCol = column(right);
+        for (int row = row(y); row <= maxRow; row++) {
+            for (int col = column(x); col <= maxCol; col++) {
+                int cell = row * cols + col;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    int obstacle = cellObstacles[i];
+                    if (x < maxX[obstacle] && right > minX[obstacle] &&
+                            y < maxY[obstacle] && bottom > minY[obstacle]) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return minX.length;
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+}
@@ -0,0 +1,154 @@
+package com.battle_royale.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the map for broad-phase queries. Each item is filed under the cell of its anchor
+ * point (top-left corner) and linked into that cell's list through int handles, so inserting, moving
+ * and querying do not allocate once the handle arrays have grown to the item count.
+ * Not thread-safe.
+ */
+public class SpatialGrid<T> {
+    private static final int NONE = -1;
+
+    private final double cellSize;
+    private final int cols;
+    private final int rows;
+    private final int[] cellHeads;
+    private int[] next;
+    private int[] prev;
+    private int[] cells;
+    private Object[] items;
+    private int freeHead = NONE;
+    private int used;
+    private int size;
+
+    public SpatialGrid(double width, double height, double cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellHeads = new int[cols * rows];
+        Arrays.fill(cellHeads, NONE);
+        this.next = new int[16];
+        this.prev = new int[16];
+        this.cells = new int[16];
+        this.items = new Object[16];
+    }
+
+    public int insert(T item, double x, double y) {
+        int handle;
+        if (freeHead != NONE) {
+            handle = freeHead;
+            freeHead = next[handle];
+        } else {
+            if (used == items.length) {
+                grow();
+            }
+            handle = used++;
+        }
+        items[handle] = item;
+        link(handle, cellIndex(x, y));
+        size++;
+        return handle;
+    }
+
+    public void move(int handle, double x, double y) {
+        int cell = cellIndex(x, y);
+        if (cells[handle] != cell) {
+            unlink(handle);
+            link(handle, cell);
+        }
+    }
+
+    public void remove(int handle) {
+        unlink(handle);
+        items[handle] = null;
+        cells[handle] = NONE;
+        next[handle] = freeHead;
+        freeHead = handle;
+        size--;
+    }
+
+    public void clear() {
+        Arrays.fill(cellHeads, NONE);
+        Arrays.fill(items, 0, used, null);
+        freeHead = NONE;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Collects every item anchored in a cell touched by the given box into {@code out}, which is cleared
+     * first. This is a superset of the items that actually overlap; callers that query for objects of
+     * a known size should widen the box on the top-left by that size and run an exact test afterwards.
+     */
+    @SuppressWarnings("unchecked")
+    public int query(double minX, double minY, double maxX, double maxY, List<T> out) {
+        out.clear();
+        int minCol = column(minX);
+        int maxCol = column(maxX);
+        int minRow = row(minY);
+        int maxRow = row(maxY);
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                for (int handle = cellHeads[row * cols + col]; handle != NONE; handle = next[handle]) {
+                    out.add((T) items[handle]);
+                }
+            }
+        }
+        return out.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    private int cellIndex(double x, double y) {
+        return row(y) * cols + column(x);
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+    }
+
+    private void link(int handle, int cell) {
+        int head = cellHeads[cell];
+        next[handle] = head;
+        prev[handle] = NONE;
+        if (head != NONE) {
+            prev[head] = handle;
+        }
+        cellHeads[cell] = handle;
+        cells[handle] = cell;
+    }
+
+    private void unlink(int handle) {
+        int before = prev[handle];
+        int after = next[handle];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            cellHeads[cells[handle]] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+    }
+
+    private void grow() {
+        int capacity = items.length * 2;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        cells = Arrays.copyOf(cells, capacity);
+        items = Arrays.copyOf(items, capacity);
+    }
+}
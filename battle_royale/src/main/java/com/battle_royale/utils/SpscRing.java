@@ -0,0 +1,64 @@
+package com.battle_royale.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread. Each side only
+ * writes its own counter and publishes it with release semantics, so offer and poll never block or
+ * allocate. Capacity is rounded up to a power of two.
+ */
+public class SpscRing<T> {
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public SpscRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Object[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Producer side. Returns false without queueing when the ring is full.
+     */
+    public boolean offer(T item) {
+        long t = tail.getPlain();
+        if (t - head.getAcquire() == slots.length) {
+            return false;
+        }
+        slots[(int) (t & mask)] = item;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side. Returns null when the ring is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long h = head.getPlain();
+        if (h == tail.getAcquire()) {
+            return null;
+        }
+        int index = (int) (h & mask);
+        T item = (T) slots[index];
+        slots[index] = null;
+        head.setRelease(h + 1);
+        return item;
+    }
+
+    public int size() {
+        return (int) (tail.getAcquire() - head.getAcquire());
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
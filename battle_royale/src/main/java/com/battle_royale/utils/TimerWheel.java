@@ -0,0 +1,157 @@
+package com.battle_royale.utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Hashed timer wheel driven by game ticks. A timer due at tick {@code t} is linked into slot
+ * {@code t % slots} through int handles, so scheduling and cancelling are O(1) and do not allocate once
+ * the handle arrays have grown to the peak timer count. Advancing visits one slot per tick and fires the
+ * timers in it that are due; timers more than one turn of the wheel away stay linked until their turn.
+ * Each timer carries an int payload, such as a slot or player id, that is handed to the expiry callback.
+ * <p>
+ * A handle is only valid until its timer fires or is cancelled. Expiry callbacks may schedule timers and
+ * update payloads but must not cancel timers. Not thread-safe.
+ */
+public class TimerWheel {
+    public static final int NONE = -1;
+
+    private final int mask;
+    private final int[] slotHeads;
+    private int[] next;
+    private int[] prev;
+    private long[] deadlines;
+    private int[] payloads;
+    private int freeHead = NONE;
+    private int used;
+    private int size;
+    private long currentTick;
+
+    public TimerWheel(int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("Invalid slot count " + slots);
+        }
+        int capacity = Integer.highestOneBit(slots);
+        if (capacity < slots) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        this.slotHeads = new int[capacity];
+        Arrays.fill(slotHeads, NONE);
+        this.next = new int[16];
+        this.prev = new int[16];
+        this.deadlines = new long[16];
+        this.payloads = new int[16];
+    }
+
+    /**
+     * Schedules a timer to fire {@code delayTicks} ticks after the current tick, at least one.
+     */
+    public int schedule(int delayTicks, int payload) {
+        int handle;
+        if (freeHead != NONE) {
+            handle = freeHead;
+            freeHead = next[handle];
+        } else {
+            if (used == payloads.length) {
+                grow();
+            }
+            handle = used++;
+        }
+        long deadline = currentTick + Math.max(1, delayTicks);
+        deadlines[handle] = deadline;
+        payloads[handle] = payload;
+        link(handle, (int) (deadline & mask));
+        size++;
+        return handle;
+    }
+
+    public void cancel(int handle) {
+        unlink(handle);
+        free(handle);
+    }
+
+    public void setPayload(int handle, int payload) {
+        payloads[handle] = payload;
+    }
+
+    public int getPayload(int handle) {
+        return payloads[handle];
+    }
+
+    /**
+     * Moves the wheel forward to {@code tick}, firing the timers due on each tick up to and including it.
+     */
+    public void advanceTo(long tick, IntConsumer onExpired) {
+        while (currentTick < tick) {
+            currentTick++;
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+            int handle = slotHeads[(int) (currentTick & mask)];
+            while (handle != NONE) {
+                int after = next[handle];
+                if (deadlines[handle] <= currentTick) {
+                    int payload = payloads[handle];
+                    unlink(handle);
+                    free(handle);
+                    onExpired.accept(payload);
+                }
+                handle = after;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(slotHeads, NONE);
+        freeHead = NONE;
+        used = 0;
+        size = 0;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void link(int handle, int slot) {
+        int head = slotHeads[slot];
+        next[handle] = head;
+        prev[handle] = NONE;
+        if (head != NONE) {
+            prev[head] = handle;
+        }
+        slotHeads[slot] = handle;
+    }
+
+    private void unlink(int handle) {
+        int before = prev[handle];
+        int after = next[handle];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            slotHeads[(int) (deadlines[handle] & mask)] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+    }
+
+    private void free(int handle) {
+        next[handle] = freeHead;
+        freeHead = handle;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = payloads.length * 2;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+    }
+}
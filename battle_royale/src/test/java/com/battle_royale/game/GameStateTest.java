@@ -0,0 +1,86 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Player;
+import com.battle_royale.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateTest {
+    private final GameState state = new GameState(GameMap.generate(1));
+
+    @Test
+    void aBurstOfInputsIsAppliedInOrderWithoutSkipping() {
+        state.addPlayer(1);
+        Player player = state.getPlayers().get(1);
+        double startX = player.getPosition().x;
+        int inputs = 6;
+        for (int sequence = 1; sequence <= inputs; sequence++) {
+            Player.Input input = new Player.Input();
+            input.right = true;
+            input.sequence = sequence;
+            state.updatePlayerInput(1, input);
+        }
+
+        int acknowledged = 0;
+        while (player.getQueuedInputs() > 0) {
+            state.update();
+            assertTrue(player.getLastProcessedInput() > acknowledged);
+            acknowledged = player.getLastProcessedInput();
+        }
+        assertEquals(inputs, acknowledged);
+        // Spawns keep obstacles a safe distance away, so every queued step moved the player.
+        assertEquals(startX + inputs * Constants.PLAYER_SPEED, player.getPosition().x);
+    }
+
+    @Test
+    void aShotInsideABacklogStillFires() {
+        state.addPlayer(1);
+        for (int sequence = 1; sequence <= 12; sequence++) {
+            Player.Input input = new Player.Input();
+            input.shooting = sequence == 2;
+            input.sequence = sequence;
+            state.updatePlayerInput(1, input);
+        }
+        state.update();
+        assertEquals(1, state.getProjectileCount());
+    }
+
+    @Test
+    void holdingFireShootsOncePerPress() {
+        state.addPlayer(1);
+        Player.Input held = new Player.Input();
+        held.shooting = true;
+        held.sequence = 1;
+        state.updatePlayerInput(1, held);
+        // Well past the cooldown, but the button was never released.
+        for (int i = 0; i < 60; i++) {
+            state.update();
+        }
+        assertEquals(1, state.getProjectileCount());
+
+        Player.Input released = new Player.Input();
+        released.sequence = 2;
+        state.updatePlayerInput(1, released);
+        state.update();
+        Player.Input pressed = new Player.Input();
+        pressed.shooting = true;
+        pressed.sequence = 3;
+        state.updatePlayerInput(1, pressed);
+        state.update();
+        assertEquals(2, state.getProjectileCount());
+    }
+
+    @Test
+    void pressesWithinTheCooldownAreIgnored() {
+        state.addPlayer(1);
+        for (int sequence = 1; sequence <= 6; sequence++) {
+            Player.Input input = new Player.Input();
+            input.shooting = sequence % 2 == 1;
+            input.sequence = sequence;
+            state.updatePlayerInput(1, input);
+            state.update();
+        }
+        assertEquals(1, state.getProjectileCount());
+    }
+}
@@ -0,0 +1,51 @@
+package com.battle_royale.game;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestSetTest {
+    private static final double RADIUS = 100;
+    private static final double HYSTERESIS = 20;
+
+    @Test
+    void entersAtTheRadiusAndLeavesOnlyPastTheMargin() {
+        InterestSet interest = new InterestSet(RADIUS, HYSTERESIS);
+        assertFalse(view(interest, 100.5), "outside the radius an unseen player stays out");
+        assertTrue(view(interest, 100), "a player exactly on the radius enters");
+        assertTrue(view(interest, 110), "a seen player stays between the radius and the margin");
+        assertTrue(view(interest, 120), "a seen player exactly on the margin stays");
+        assertFalse(view(interest, 120.5), "a seen player past the margin leaves");
+        assertFalse(view(interest, 110), "once it has left, the margin no longer applies");
+        assertTrue(view(interest, 99));
+    }
+
+    @Test
+    void anEntityNotAdmittedBeforeTheCommitHasLeft() {
+        InterestSet interest = new InterestSet(RADIUS, HYSTERESIS);
+        assertTrue(view(interest, 50));
+        assertEquals(1, interest.getPlayerCount());
+        interest.commit();
+        assertEquals(0, interest.getPlayerCount());
+        assertFalse(view(interest, 110), "after a snapshot it was missing from, it has to come back within the radius");
+    }
+
+    @Test
+    void playersAndProjectilesAreTrackedSeparately() {
+        InterestSet interest = new InterestSet(RADIUS, HYSTERESIS);
+        assertTrue(interest.admitPlayer(7, 60, 60));
+        interest.commit();
+        assertFalse(interest.admitProjectile(7, 80, 80), "a player with the same id does not widen a projectile's reach");
+        assertTrue(interest.admitPlayer(7, 80, 80));
+        interest.commit();
+        assertEquals(1, interest.getPlayerCount());
+        assertEquals(0, interest.getProjectileCount());
+        assertEquals(RADIUS + HYSTERESIS, interest.getReach());
+    }
+
+    private static boolean view(InterestSet interest, double distance) {
+        boolean admitted = interest.admitPlayer(1, distance * 0.6, distance * 0.8);
+        interest.commit();
+        return admitted;
+    }
+}
@@ -0,0 +1,60 @@
+package com.battle_royale.game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void mapsSurviveAWriteAndRead() throws IOException {
+        List<GameMap> maps = List.of(GameMap.generate(1), GameMap.generate(-8), GameMap.generate(Long.MAX_VALUE));
+        Path path = dir.resolve("maps.bin");
+        MapFile.write(path, maps);
+
+        List<GameMap> read = MapFile.read(path);
+        assertEquals(maps.size(), read.size());
+        for (int i = 0; i < maps.size(); i++) {
+            assertEquals(maps.get(i).getSeed(), read.get(i).getSeed());
+            assertEquals(maps.get(i).getObstacles().size(), read.get(i).getObstacles().size());
+            assertEquals(maps.get(i).getManifest().getHash(), read.get(i).getManifest().getHash());
+        }
+    }
+
+    @Test
+    void anEmptyListRoundTrips() throws IOException {
+        Path path = dir.resolve("empty.bin");
+        MapFile.write(path, List.of());
+        assertEquals(List.of(), MapFile.read(path));
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path path = dir.resolve("maps.bin");
+        MapFile.write(path, List.of(GameMap.generate(3), GameMap.generate(4)));
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = dir.resolve("truncated.bin");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> MapFile.read(truncated), "cut at byte " + length);
+        }
+    }
+
+    @Test
+    void rejectsAFileThatIsNotAMapFile() throws IOException {
+        Path path = dir.resolve("other.bin");
+        Files.write(path, new byte[64]);
+        assertThrows(IOException.class, () -> MapFile.read(path));
+    }
+}
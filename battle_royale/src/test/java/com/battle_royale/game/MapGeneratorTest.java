@@ -0,0 +1,128 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Vector2D;
+import com.battle_royale.utils.Constants;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapGeneratorTest {
+    private static final long[] SEEDS = {0, 1, 2, 3, 7, 42, 1234, 99_999, -5, Long.MAX_VALUE};
+    // The generator's walkability cell size; a coarser check would let thin gaps pass as open.
+    private static final double CELL_SIZE = 20;
+
+    @Test
+    void everySpawnPointIsReachableOnDefaultMaps() {
+        for (long seed : SEEDS) {
+            GameMap map = GameMap.generate(seed);
+            assertSpawnsReachable(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, GameState.initializeSpawnPoints(),
+                    map.getObstacles(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void everySpawnPointIsReachableOnCrowdedMaps() {
+        for (long seed : SEEDS) {
+            GameMap map = GameMap.generate(seed, 200);
+            assertSpawnsReachable(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, GameState.initializeSpawnPoints(),
+                    map.getObstacles(), "seed " + seed);
+        }
+    }
+
+    @Test
+    void everySpawnPointIsReachableOnLargeDenseMaps() {
+        double width = 2400;
+        double height = 1800;
+        List<Vector2D> spawns = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            spawns.add(new Vector2D(width * i / 5, height / 2));
+            spawns.add(new Vector2D(width / 2, height * i / 5));
+        }
+        for (long seed : SEEDS) {
+            // A small minimum distance packs obstacles tightly, which is where a split is most likely.
+            List<Obstacle> obstacles = new MapGenerator(width, height, spawns, new SplittableRandom(seed))
+                    .generate(2000, 0);
+            assertFalse(obstacles.isEmpty());
+            assertSpawnsReachable(width, height, spawns, obstacles, "seed " + seed);
+        }
+    }
+
+    @Test
+    void theSameSeedGivesTheSameLayout() {
+        for (long seed : SEEDS) {
+            assertEquals(GameMap.generate(seed).getManifest().getHash(), GameMap.generate(seed).getManifest().getHash());
+        }
+    }
+
+    /**
+     * Rasterizes the obstacles independently of the generator, then checks that no obstacle covers a spawn
+     * point and that one flood fill from the first spawn reaches every other spawn and every free cell.
+     */
+    private static void assertSpawnsReachable(double width, double height, List<Vector2D> spawns,
+                                              List<Obstacle> obstacles, String label) {
+        int cols = (int) Math.ceil(width / CELL_SIZE);
+        int rows = (int) Math.ceil(height / CELL_SIZE);
+        boolean[] blocked = new boolean[cols * rows];
+        int freeCells = cols * rows;
+        for (Obstacle obstacle : obstacles) {
+            Vector2D position = obstacle.getPosition();
+            int minCol = Math.max(0, (int) (position.x / CELL_SIZE));
+            int minRow = Math.max(0, (int) (position.y / CELL_SIZE));
+            int maxCol = Math.min(cols, (int) Math.ceil((position.x + obstacle.getWidth()) / CELL_SIZE));
+            int maxRow = Math.min(rows, (int) Math.ceil((position.y + obstacle.getHeight()) / CELL_SIZE));
+            for (int row = minRow; row < maxRow; row++) {
+                for (int col = minCol; col < maxCol; col++) {
+                    if (!blocked[row * cols + col]) {
+                        blocked[row * cols + col] = true;
+                        freeCells--;
+                    }
+                }
+            }
+        }
+
+        int[] spawnCells = new int[spawns.size()];
+        for (int i = 0; i < spawns.size(); i++) {
+            Vector2D spawn = spawns.get(i);
+            for (Obstacle obstacle : obstacles) {
+                assertFalse(obstacle.collidesWith(spawn, 1, 1), label + ": spawn " + spawn + " is inside an obstacle");
+            }
+            spawnCells[i] = (int) (spawn.y / CELL_SIZE) * cols + (int) (spawn.x / CELL_SIZE);
+            assertFalse(blocked[spawnCells[i]], label + ": spawn " + spawn + " is on a blocked cell");
+        }
+
+        boolean[] reached = new boolean[cols * rows];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(spawnCells[0]);
+        reached[spawnCells[0]] = true;
+        int reachedCount = 0;
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            reachedCount++;
+            int col = cell % cols;
+            int row = cell / cols;
+            int[] neighbours = {
+                    col > 0 ? cell - 1 : -1,
+                    col < cols - 1 ? cell + 1 : -1,
+                    row > 0 ? cell - cols : -1,
+                    row < rows - 1 ? cell + cols : -1,
+            };
+            for (int next : neighbours) {
+                if (next >= 0 && !blocked[next] && !reached[next]) {
+                    reached[next] = true;
+                    queue.add(next);
+                }
+            }
+        }
+
+        for (int i = 1; i < spawnCells.length; i++) {
+            assertTrue(reached[spawnCells[i]], label + ": spawn " + spawns.get(i) + " is cut off from " + spawns.get(0));
+        }
+        assertEquals(freeCells, reachedCount, label + ": part of the free area is enclosed");
+    }
+}
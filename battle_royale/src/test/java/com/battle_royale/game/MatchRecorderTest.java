@@ -0,0 +1,78 @@
+package com.battle_royale.game;
+
+import com.battle_royale.model.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchRecorderTest {
+    private static final double TICK_RATE = 30;
+    private static final int TICKS = 400;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aRecordedMatchReplaysWithMatchingChecksums() throws Exception {
+        Path path = dir.resolve("match.replay");
+        String writerName = "recorder-test-" + System.nanoTime();
+        GameState state = new GameState(GameMap.generate(7), TICK_RATE);
+        MatchRecorder recorder = new MatchRecorder(path, writerName, GameMap.generate(7), TICK_RATE);
+        state.setRecorder(recorder);
+
+        SplittableRandom random = new SplittableRandom(11);
+        int sequence = 0;
+        state.addPlayer(1);
+        state.addPlayer(2);
+        for (int tick = 1; tick <= TICKS; tick++) {
+            if (tick == 50) {
+                state.addPlayer(3);
+            }
+            if (tick == 300) {
+                state.removePlayer(2);
+            }
+            for (Player player : state.getPlayers().values()) {
+                // Now and then a player sends a burst, which the server catches up on in one tick.
+                int count = random.nextInt(10) == 0 ? 6 : 1;
+                for (int i = 0; i < count; i++) {
+                    state.updatePlayerInput(player.getId(), input(random, ++sequence));
+                }
+            }
+            state.update();
+        }
+        state.removePlayer(1);
+        state.setRecorder(null);
+        recorder.close();
+        awaitWriter(writerName);
+
+        MatchReplayer.Result result = MatchReplayer.replay(MatchReplayer.read(path));
+        assertEquals(TICKS / MatchRecorder.CHECKSUM_INTERVAL_TICKS, result.checksums);
+        assertEquals(0, result.mismatchedChecksums, "first mismatch at tick " + result.firstMismatchTick);
+        assertEquals(state.getTick(), result.ticks);
+        assertTrue(result.inputs > 2 * TICKS);
+    }
+
+    private static Player.Input input(SplittableRandom random, int sequence) {
+        Player.Input input = new Player.Input();
+        input.up = random.nextInt(3) == 0;
+        input.down = !input.up && random.nextInt(3) == 0;
+        input.left = random.nextInt(3) == 0;
+        input.right = !input.left && random.nextInt(3) == 0;
+        input.shooting = random.nextInt(4) == 0;
+        input.sequence = sequence;
+        return input;
+    }
+
+    private static void awaitWriter(String name) throws InterruptedException {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name)) {
+                thread.join(10_000);
+                assertFalse(thread.isAlive(), "the recorder did not finish writing");
+            }
+        }
+    }
+}
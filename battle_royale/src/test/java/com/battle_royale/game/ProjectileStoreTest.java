@@ -0,0 +1,105 @@
+package com.battle_royale.game;
+
+import com.battle_royale.utils.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectileStoreTest {
+    private final ProjectileStore store = new ProjectileStore();
+    private final TimerWheel timers = new TimerWheel(16);
+    // Owner and spawn tick of each live projectile by id.
+    private final Map<Integer, int[]> live = new HashMap<>();
+
+    @Test
+    void removingTheLastSlotLeavesTheOthers() {
+        int first = spawn(1);
+        int second = spawn(1);
+        remove(1);
+        assertEquals(1, store.size());
+        assertEquals(first, store.getId(0));
+        assertFalse(live.containsKey(second));
+        assertConsistent();
+    }
+
+    @Test
+    void removingAMiddleSlotMovesTheLastProjectileIntoIt() {
+        spawn(1);
+        spawn(1);
+        int third = spawn(1);
+        remove(0);
+        assertEquals(2, store.size());
+        assertEquals(third, store.getId(0));
+        assertConsistent();
+    }
+
+    @Test
+    void randomSpawnsRemovalsAndExpiriesKeepSlotsAndTimersInStep() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int tick = 1; tick <= 2000; tick++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                spawn(1 + random.nextInt(40));
+            }
+            for (int i = random.nextInt(3); i > 0 && store.size() > 0; i--) {
+                remove(random.nextInt(store.size()));
+            }
+            for (int slot = 0; slot < store.size(); slot++) {
+                store.step(slot);
+            }
+            timers.advanceTo(tick, this::expire);
+            assertConsistent();
+        }
+    }
+
+    private int spawn(int lifetimeTicks) {
+        int tick = (int) timers.getCurrentTick();
+        int timer = timers.schedule(lifetimeTicks, store.size());
+        int owner = 1 + live.size() % 7;
+        int id = store.spawn(owner, store.size(), -store.size(), 1, 2, tick, timer);
+        live.put(id, new int[]{owner, tick});
+        return id;
+    }
+
+    // Mirrors GameState: cancel the timer, then let the store's swap-remove go through expire's bookkeeping.
+    private void remove(int slot) {
+        timers.cancel(store.getExpiryTimer(slot));
+        expire(slot);
+    }
+
+    private void expire(int slot) {
+        int last = store.size() - 1;
+        if (slot != last) {
+            timers.setPayload(store.getExpiryTimer(last), slot);
+        }
+        assertNotNull(live.remove(store.getId(slot)), "slot " + slot + " held a dead projectile");
+        store.remove(slot);
+    }
+
+    private void assertConsistent() {
+        assertEquals(live.size(), store.size());
+        assertEquals(store.size(), timers.size());
+        Set<Integer> seen = new HashSet<>();
+        Set<Integer> handles = new HashSet<>();
+        for (int slot = 0; slot < store.size(); slot++) {
+            int id = store.getId(slot);
+            assertTrue(seen.add(id), "projectile " + id + " is in two slots");
+            assertTrue(live.containsKey(id), "projectile " + id + " should have been removed");
+            int timer = store.getExpiryTimer(slot);
+            assertTrue(handles.add(timer), "timer " + timer + " is shared");
+            assertEquals(slot, timers.getPayload(timer), "timer of projectile " + id + " points at the wrong slot");
+
+            int[] expected = live.get(id);
+            int age = (int) timers.getCurrentTick() - expected[1];
+            assertEquals(expected[0], store.getOwnerId(slot));
+            assertEquals(expected[1], store.getSpawnTick(slot));
+            assertEquals(store.getOriginX(slot) + age * store.getVelocityX(slot), store.getX(slot));
+            assertEquals(store.getOriginY(slot) + age * store.getVelocityY(slot), store.getY(slot));
+        }
+    }
+}
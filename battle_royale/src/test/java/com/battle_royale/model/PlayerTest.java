@@ -0,0 +1,54 @@
+package com.battle_royale.model;
+
+import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.SpatialGrid;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTest {
+    private final Player player = new Player(1, new SpatialGrid<>(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, 64));
+
+    @Test
+    void nextInputReturnsQueuedInputsInOrder() {
+        for (int sequence = 1; sequence <= 10; sequence++) {
+            assertTrue(player.queueInput(input(sequence)));
+        }
+        assertEquals(10, player.getQueuedInputs());
+        for (int sequence = 1; sequence <= 10; sequence++) {
+            assertEquals(sequence, player.nextInput(1).sequence);
+            assertEquals(sequence, player.getLastProcessedInput());
+        }
+        assertEquals(0, player.getQueuedInputs());
+    }
+
+    @Test
+    void theLastInputStaysInEffectWhenNoneIsQueued() {
+        player.queueInput(input(1));
+        Player.Input first = player.nextInput(1);
+        assertSame(first, player.nextInput(1));
+        assertEquals(1, player.getLastProcessedInput());
+
+        player.queueInput(input(2));
+        assertEquals(2, player.nextInput(1).sequence);
+    }
+
+    @Test
+    void inputDelayIsMeasuredFromTheTickTheClientLastSaw() {
+        Player.Input input = input(1);
+        input.tick = 40;
+        player.queueInput(input);
+        player.nextInput(46);
+        assertEquals(6, player.getInputDelayTicks());
+
+        player.nextInput(50);
+        assertEquals(6, player.getInputDelayTicks(), "an input left in effect is not measured again");
+    }
+
+    private static Player.Input input(int sequence) {
+        Player.Input input = new Player.Input();
+        input.right = sequence % 2 == 0;
+        input.sequence = sequence;
+        return input;
+    }
+}
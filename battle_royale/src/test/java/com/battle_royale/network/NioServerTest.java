@@ -0,0 +1,163 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.model.Vector2D;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioServerTest {
+    private final BlockingQueue<Connection> connected = new LinkedBlockingQueue<>();
+    private final BlockingQueue<GamePacket> received = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Connection> disconnected = new LinkedBlockingQueue<>();
+    private NioServer server;
+    private int port;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        server = new NioServer(port, 1, new ConnectionListener() {
+            @Override
+            public void onConnect(Connection connection) {
+                connected.add(connection);
+            }
+
+            @Override
+            public void onPacket(Connection connection, GamePacket packet) {
+                received.add(packet);
+            }
+
+            @Override
+            public void onDisconnect(Connection connection) {
+                disconnected.add(connection);
+            }
+        });
+        Thread thread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, "nio-server-test");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void reassemblesFramesSplitAcrossAndPackedIntoReads() throws Exception {
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            byte[] input = bytes(PacketCodec.encode(new GamePacket(PacketType.PLAYER_INPUT, input(5))));
+            for (byte b : input) {
+                out.write(b);
+                out.flush();
+            }
+            byte[] acks = concat(bytes(PacketCodec.encode(new GamePacket(PacketType.STATE_ACK, 10))),
+                    bytes(PacketCodec.encode(new GamePacket(PacketType.STATE_ACK, 11))));
+            out.write(acks);
+            // Larger than the initial read buffer, so the connection has to grow it.
+            MapManifest manifest = manifest(400);
+            out.write(bytes(PacketCodec.encode(new GamePacket(PacketType.MAP_MANIFEST, manifest))));
+            out.flush();
+
+            assertEquals(input(5), next().data);
+            assertEquals(10, next().data);
+            assertEquals(11, next().data);
+            GamePacket large = next();
+            assertEquals(PacketType.MAP_MANIFEST, large.type);
+            assertEquals(manifest.getHash(), ((MapManifest) large.data).getHash());
+        }
+        assertNotNull(disconnected.poll(5, TimeUnit.SECONDS), "closing the socket disconnects the client");
+    }
+
+    @Test
+    void sendsControlFramesAndTheLatestState() throws Exception {
+        try (Socket socket = connect()) {
+            Connection connection = connected.poll(5, TimeUnit.SECONDS);
+            assertNotNull(connection);
+            connection.sendPacket(new GamePacket(PacketType.PLAYER_ID_ASSIGN, 3));
+            ByteBuffer state = PacketCodec.encode(new GamePacket(PacketType.STATE_ACK, 99));
+            connection.sendState(state);
+            connection.sendState(state);
+
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            assertEquals(3, PacketCodec.read(in).data);
+            assertEquals(99, PacketCodec.read(in).data);
+            assertEquals(0, state.position(), "a shared frame must not be consumed by the write");
+        }
+    }
+
+    private GamePacket next() throws InterruptedException {
+        GamePacket packet = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(packet, "no packet arrived");
+        return packet;
+    }
+
+    // The accept loop starts on another thread, so the first attempts may find the port closed.
+    private Socket connect() throws Exception {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return new Socket("localhost", port);
+            } catch (ConnectException e) {
+                if (attempt == 100) {
+                    throw e;
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static Player.Input input(int sequence) {
+        Player.Input input = new Player.Input();
+        input.left = true;
+        input.shooting = true;
+        input.sequence = sequence;
+        input.tick = 12;
+        return input;
+    }
+
+    private static MapManifest manifest(int obstacles) {
+        List<Obstacle> list = new ArrayList<>();
+        for (int i = 0; i < obstacles; i++) {
+            list.add(new Obstacle(new Vector2D(i, i * 2), 10 + i % 7, 20 + i % 5));
+        }
+        return MapManifest.of(list);
+    }
+
+    private static byte[] bytes(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] joined = new byte[a.length + b.length];
+        System.arraycopy(a, 0, joined, 0, a.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+}
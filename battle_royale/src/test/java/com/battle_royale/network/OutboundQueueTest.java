@@ -0,0 +1,76 @@
+package com.battle_royale.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+
+    @Test
+    void aNewStateReplacesTheOneNotYetSent() {
+        OutboundQueue queue = new OutboundQueue(4, 60_000);
+        ByteBuffer first = frame(1);
+        ByteBuffer second = frame(2);
+        assertTrue(queue.offerState(first));
+        assertTrue(queue.offerState(second));
+        assertEquals(1, queue.getDroppedStates());
+
+        assertSame(second, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void controlFramesGoOutInOrderAheadOfState() {
+        OutboundQueue queue = new OutboundQueue(4, 60_000);
+        ByteBuffer state = frame(0);
+        ByteBuffer first = frame(1);
+        ByteBuffer second = frame(2);
+        queue.offerState(state);
+        queue.offerReliable(first);
+        queue.offerReliable(second);
+
+        assertSame(first, queue.poll());
+        assertSame(second, queue.poll());
+        assertSame(state, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void refusesControlFramesPastItsCapacity() {
+        OutboundQueue queue = new OutboundQueue(3, 60_000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offerReliable(frame(i)));
+        }
+        assertFalse(queue.offerReliable(frame(3)));
+        assertTrue(queue.offerState(frame(4)), "a full control queue does not block state");
+
+        queue.poll();
+        assertTrue(queue.offerReliable(frame(5)), "draining one frame makes room for another");
+        assertFalse(queue.offerReliable(frame(6)));
+    }
+
+    @Test
+    void refusesStateOnceTheClientHasFallenTooFarBehind() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue(4, 0);
+        assertTrue(queue.offerState(frame(1)));
+        Thread.sleep(1);
+        assertFalse(queue.offerState(frame(2)));
+    }
+
+    @Test
+    void closingWakesTheWriter() throws InterruptedException {
+        OutboundQueue queue = new OutboundQueue();
+        queue.offerReliable(frame(1));
+        queue.close();
+        assertNull(queue.take());
+        assertFalse(queue.offerReliable(frame(2)));
+        assertFalse(queue.offerState(frame(3)));
+    }
+
+    private static ByteBuffer frame(int value) {
+        return ByteBuffer.allocate(4).putInt(0, value);
+    }
+}
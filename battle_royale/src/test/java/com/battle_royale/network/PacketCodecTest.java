@@ -0,0 +1,204 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Player;
+import com.battle_royale.model.Vector2D;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketCodecTest {
+
+    @Test
+    void everyPacketTypeSurvivesARoundTrip() throws IOException {
+        for (PacketType type : PacketType.values()) {
+            GamePacket packet = sample(type);
+            GamePacket decoded = roundTrip(packet);
+            assertEquals(type, decoded.type);
+            assertPayloadEquals(packet, decoded);
+        }
+    }
+
+    @Test
+    void joinWithoutARequestedMatchHasNoPayload() throws IOException {
+        GamePacket decoded = roundTrip(new GamePacket(PacketType.PLAYER_JOIN, null));
+        assertEquals(PacketType.PLAYER_JOIN, decoded.type);
+        assertNull(decoded.data);
+    }
+
+    @Test
+    void framesAreHeapBackedSoSocketsWriteFromTheArray() {
+        ByteBuffer frame = PacketCodec.encode(sample(PacketType.GAME_STATE));
+        assertTrue(frame.hasArray());
+        assertFalse(frame.isDirect());
+    }
+
+    @Test
+    void rejectsOversizedFrameLengths() {
+        assertThrows(IOException.class, () -> PacketCodec.checkFrameLength(PacketCodec.MAX_FRAME_LENGTH + 1));
+        assertThrows(IOException.class, () -> PacketCodec.checkFrameLength(0));
+        assertThrows(IOException.class, () -> PacketCodec.checkFrameLength(-1));
+        assertDoesNotThrow(() -> PacketCodec.checkFrameLength(PacketCodec.MAX_FRAME_LENGTH));
+
+        ByteBuffer header = ByteBuffer.allocate(PacketCodec.HEADER_SIZE + 1);
+        header.putInt(PacketCodec.MAX_FRAME_LENGTH + 1).put((byte) PacketType.STATE_ACK.ordinal());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(header.array()));
+        assertThrows(IOException.class, () -> PacketCodec.read(in));
+    }
+
+    @Test
+    void refusesToEncodeCountsThatDoNotFit() {
+        List<Integer> ids = Collections.nCopies(0x10000, 1);
+        SnapshotDelta delta = new SnapshotDelta(2, 1, List.of(), ids, List.of(), List.of());
+        assertThrows(IllegalArgumentException.class,
+                () -> PacketCodec.encode(new GamePacket(PacketType.GAME_STATE_DELTA, delta)));
+    }
+
+    @Test
+    void rejectsMalformedFrames() {
+        assertThrows(ProtocolException.class,
+                () -> PacketCodec.decode(ByteBuffer.wrap(new byte[]{(byte) PacketType.values().length})));
+        assertThrows(ProtocolException.class,
+                () -> PacketCodec.decode(ByteBuffer.wrap(new byte[]{(byte) PacketType.STATE_ACK.ordinal(), 0, 0})));
+
+        ByteBuffer frame = PacketCodec.encode(new GamePacket(PacketType.STATE_ACK, 7));
+        ByteBuffer padded = ByteBuffer.allocate(frame.remaining() + 1);
+        padded.put(frame).put((byte) 0).flip();
+        padded.position(PacketCodec.HEADER_SIZE);
+        assertThrows(ProtocolException.class, () -> PacketCodec.decode(padded));
+    }
+
+    private static GamePacket roundTrip(GamePacket packet) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PacketCodec.write(new DataOutputStream(bytes), packet);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        GamePacket decoded = PacketCodec.read(in);
+        assertEquals(-1, in.read(), "frame length does not match its payload");
+        return decoded;
+    }
+
+    private static GamePacket sample(PacketType type) {
+        switch (type) {
+            case PLAYER_JOIN:
+                return new GamePacket(type, 3);
+            case PLAYER_INPUT:
+                Player.Input input = new Player.Input();
+                input.up = true;
+                input.right = true;
+                input.shooting = true;
+                input.sequence = 41;
+                input.tick = 118;
+                return new GamePacket(type, input);
+            case STATE_ACK:
+                return new GamePacket(type, 1234);
+            case PLAYER_ID_ASSIGN:
+                return new GamePacket(type, 17);
+            case MATCH_ASSIGN:
+                return new GamePacket(type, 2);
+            case MAP_HASH:
+            case MAP_REQUEST:
+                return new GamePacket(type, 0x0123456789ABCDEFL);
+            case TICK_RATE:
+                return new GamePacket(type, 30.0);
+            case MAP_MANIFEST:
+                return new GamePacket(type, MapManifest.of(List.of(
+                        new Obstacle(new Vector2D(10.25, 20.5), 40, 60),
+                        new Obstacle(new Vector2D(300.1, 200.7), 80.3, 20.9))));
+            case GAME_STATE:
+                return new GamePacket(type, new Snapshot(120, players(), projectiles()));
+            case GAME_STATE_DELTA:
+                return new GamePacket(type, new SnapshotDelta(120, 118, players(), List.of(4, 9),
+                        projectiles(), List.of(70)));
+            default:
+                throw new AssertionError("No sample packet for " + type);
+        }
+    }
+
+    private static List<Snapshot.PlayerState> players() {
+        List<Snapshot.PlayerState> players = new ArrayList<>();
+        players.add(new Snapshot.PlayerState(1, 100.5, 200.25, 100, true, Player.Direction.UP, 12));
+        players.add(new Snapshot.PlayerState(2, 640, 480, 0, false, Player.Direction.LEFT, 0));
+        return players;
+    }
+
+    private static List<Snapshot.ProjectileState> projectiles() {
+        List<Snapshot.ProjectileState> projectiles = new ArrayList<>();
+        projectiles.add(new Snapshot.ProjectileState(71, 1, 115, 110.5, 190.25, 0, -8));
+        projectiles.add(new Snapshot.ProjectileState(72, 2, 119, 630, 480, -6.5, 0));
+        return projectiles;
+    }
+
+    private static void assertPayloadEquals(GamePacket expected, GamePacket actual) {
+        switch (expected.type) {
+            case PLAYER_INPUT:
+                Player.Input input = (Player.Input) expected.data;
+                Player.Input decodedInput = (Player.Input) actual.data;
+                assertEquals(input, decodedInput);
+                assertEquals(input.sequence, decodedInput.sequence);
+                assertEquals(input.tick, decodedInput.tick);
+                break;
+            case MAP_MANIFEST:
+                MapManifest manifest = (MapManifest) expected.data;
+                MapManifest decodedManifest = (MapManifest) actual.data;
+                assertEquals(manifest.getHash(), decodedManifest.getHash());
+                assertTrue(decodedManifest.isIntact());
+                break;
+            case GAME_STATE:
+                assertSnapshotEquals((Snapshot) expected.data, (Snapshot) actual.data);
+                break;
+            case GAME_STATE_DELTA:
+                SnapshotDelta delta = (SnapshotDelta) expected.data;
+                SnapshotDelta decodedDelta = (SnapshotDelta) actual.data;
+                assertEquals(delta.getTick(), decodedDelta.getTick());
+                assertEquals(delta.getBaselineTick(), decodedDelta.getBaselineTick());
+                assertPlayersEqual(delta.getChangedPlayers(), decodedDelta.getChangedPlayers());
+                assertEquals(delta.getRemovedPlayers(), decodedDelta.getRemovedPlayers());
+                assertProjectilesEqual(delta.getAddedProjectiles(), decodedDelta.getAddedProjectiles());
+                assertEquals(delta.getRemovedProjectiles(), decodedDelta.getRemovedProjectiles());
+                break;
+            default:
+                assertEquals(expected.data, actual.data);
+                break;
+        }
+    }
+
+    static void assertSnapshotEquals(Snapshot expected, Snapshot actual) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertPlayersEqual(expected.getPlayers(), actual.getPlayers());
+        assertProjectilesEqual(expected.getProjectiles(), actual.getProjectiles());
+    }
+
+    private static void assertPlayersEqual(List<Snapshot.PlayerState> expected, List<Snapshot.PlayerState> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i).sameAs(actual.get(i)), "player " + expected.get(i).id + " differs");
+        }
+    }
+
+    private static void assertProjectilesEqual(List<Snapshot.ProjectileState> expected,
+                                               List<Snapshot.ProjectileState> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Snapshot.ProjectileState a = expected.get(i);
+            Snapshot.ProjectileState b = actual.get(i);
+            assertEquals(a.id, b.id);
+            assertEquals(a.ownerId, b.ownerId);
+            assertEquals(a.spawnTick, b.spawnTick);
+            assertEquals((float) a.originX, b.originX);
+            assertEquals((float) a.originY, b.originY);
+            assertEquals((float) a.velocityX, b.velocityX);
+            assertEquals((float) a.velocityY, b.velocityY);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.battle_royale.network;
+
+import com.battle_royale.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotDeltaTest {
+
+    @Test
+    void applyingADeltaRebuildsTheCurrentSnapshot() {
+        Snapshot baseline = new Snapshot(10,
+                List.of(player(1, 100, 100, 100), player(2, 200, 200, 80), player(3, 300, 300, 50)),
+                List.of(projectile(20, 1, 8), projectile(21, 2, 9)));
+        Snapshot current = new Snapshot(14,
+                List.of(player(1, 100, 100, 100), player(3, 310, 295, 40), player(4, 50, 60, 100)),
+                List.of(projectile(21, 2, 9), projectile(22, 3, 13)));
+
+        SnapshotDelta delta = SnapshotDelta.between(baseline, current);
+
+        assertEquals(14, delta.getTick());
+        assertEquals(10, delta.getBaselineTick());
+        assertEquals(List.of(2), delta.getRemovedPlayers());
+        assertEquals(List.of(20), delta.getRemovedProjectiles());
+        assertEquals(2, delta.getChangedPlayers().size(), "unchanged players are left out");
+        assertEquals(1, delta.getAddedProjectiles().size());
+        assertSameSnapshot(current, delta.applyTo(baseline));
+    }
+
+    @Test
+    void deltaAgainstAnEmptyBaselineCarriesEverything() {
+        Snapshot empty = new Snapshot(0, List.of(), List.of());
+        Snapshot current = new Snapshot(5, List.of(player(1, 10, 20, 100)), List.of(projectile(7, 1, 4)));
+        assertSameSnapshot(current, SnapshotDelta.between(empty, current).applyTo(empty));
+    }
+
+    @Test
+    void deltaToAnEmptySnapshotRemovesEverything() {
+        Snapshot baseline = new Snapshot(5, List.of(player(1, 10, 20, 100)), List.of(projectile(7, 1, 4)));
+        Snapshot empty = new Snapshot(9, List.of(), List.of());
+        SnapshotDelta delta = SnapshotDelta.between(baseline, empty);
+        assertEquals(List.of(1), delta.getRemovedPlayers());
+        assertEquals(List.of(7), delta.getRemovedProjectiles());
+        assertSameSnapshot(empty, delta.applyTo(baseline));
+    }
+
+    @Test
+    void randomSnapshotPairsSurviveTheWireAndRebuild() throws ProtocolException {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 200; round++) {
+            Snapshot baseline = randomSnapshot(random, round);
+            Snapshot current = randomSnapshot(random, round + 1 + random.nextInt(5));
+            SnapshotDelta delta = SnapshotDelta.between(baseline, current);
+
+            GamePacket decoded = PacketCodec.decode(skipHeader(PacketCodec.encode(
+                    new GamePacket(PacketType.GAME_STATE_DELTA, delta))));
+            assertSameSnapshot(current, ((SnapshotDelta) decoded.data).applyTo(baseline));
+        }
+    }
+
+    private static Snapshot randomSnapshot(SplittableRandom random, int tick) {
+        Map<Integer, Snapshot.PlayerState> players = new HashMap<>();
+        for (int i = random.nextInt(12); i > 0; i--) {
+            int id = 1 + random.nextInt(16);
+            // Coordinates stay on whole numbers so they are exact after the wire's float narrowing.
+            players.put(id, player(id, random.nextInt(800), random.nextInt(600), random.nextInt(101)));
+        }
+        Map<Integer, Snapshot.ProjectileState> projectiles = new HashMap<>();
+        for (int i = random.nextInt(20); i > 0; i--) {
+            // A projectile never changes after it spawns, so its fields follow from its id.
+            int id = 1 + random.nextInt(40);
+            projectiles.put(id, projectile(id, 1 + id % 16, id));
+        }
+        return new Snapshot(tick, List.copyOf(players.values()), List.copyOf(projectiles.values()));
+    }
+
+    private static ByteBuffer skipHeader(ByteBuffer frame) {
+        frame.position(PacketCodec.HEADER_SIZE);
+        return frame;
+    }
+
+    private static Snapshot.PlayerState player(int id, double x, double y, int health) {
+        return new Snapshot.PlayerState(id, x, y, health, health > 0, Player.Direction.DOWN, id * 3);
+    }
+
+    private static Snapshot.ProjectileState projectile(int id, int ownerId, int spawnTick) {
+        return new Snapshot.ProjectileState(id, ownerId, spawnTick, id * 10, id * 5, 4, -2);
+    }
+
+    private static void assertSameSnapshot(Snapshot expected, Snapshot actual) {
+        assertEquals(expected.getTick(), actual.getTick());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (Snapshot.PlayerState player : expected.getPlayers()) {
+            assertTrue(player.sameAs(actual.getPlayer(player.id)), "player " + player.id + " differs");
+        }
+
+        Map<Integer, Snapshot.ProjectileState> projectiles = new HashMap<>();
+        for (Snapshot.ProjectileState projectile : actual.getProjectiles()) {
+            assertNull(projectiles.put(projectile.id, projectile), "projectile " + projectile.id + " is duplicated");
+        }
+        assertEquals(expected.getProjectiles().size(), projectiles.size());
+        for (Snapshot.ProjectileState projectile : expected.getProjectiles()) {
+            Snapshot.ProjectileState rebuilt = projectiles.get(projectile.id);
+            assertNotNull(rebuilt, "projectile " + projectile.id + " is missing");
+            assertEquals(projectile.ownerId, rebuilt.ownerId);
+            assertEquals(projectile.spawnTick, rebuilt.spawnTick);
+            assertEquals(projectile.originX, rebuilt.originX);
+            assertEquals(projectile.originY, rebuilt.originY);
+        }
+    }
+}
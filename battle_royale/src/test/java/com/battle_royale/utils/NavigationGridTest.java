@@ -0,0 +1,46 @@
+package com.battle_royale.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationGridTest {
+
+    @Test
+    void refusesABlockThatSplitsTheGrid() {
+        NavigationGrid grid = new NavigationGrid(100, 100, 10);
+        assertTrue(grid.tryBlock(40, 0, 10, 90));
+        assertFalse(grid.tryBlock(40, 90, 10, 10), "closing the wall would split the grid");
+        assertFalse(grid.isBlocked(4, 9));
+        assertEquals(100 - 9, grid.getFreeCells());
+    }
+
+    @Test
+    void refusesABlockThatEnclosesACell() {
+        NavigationGrid grid = new NavigationGrid(50, 50, 10);
+        assertTrue(grid.tryBlock(10, 10, 30, 10));
+        assertTrue(grid.tryBlock(10, 30, 30, 10));
+        assertTrue(grid.tryBlock(10, 20, 10, 10));
+        assertFalse(grid.tryBlock(30, 20, 10, 10), "the cell at (2, 2) would be walled in");
+        assertTrue(grid.tryBlock(20, 20, 20, 10), "filling the pocket along with the gap keeps the rest connected");
+    }
+
+    @Test
+    void acceptsBlocksAroundWhichTheGridStaysConnected() {
+        NavigationGrid grid = new NavigationGrid(100, 100, 10);
+        assertTrue(grid.tryBlock(20, 20, 20, 20));
+        assertTrue(grid.tryBlock(60, 60, 20, 20));
+        assertTrue(grid.tryBlock(20, 20, 20, 20), "blocking cells that are already blocked changes nothing");
+        assertEquals(100 - 8, grid.getFreeCells());
+        assertTrue(grid.isBlocked(2, 2));
+        assertTrue(grid.isBlocked(7, 7));
+        assertFalse(grid.isBlocked(5, 5));
+    }
+
+    @Test
+    void refusesToBlockTheLastFreeCells() {
+        NavigationGrid grid = new NavigationGrid(20, 20, 10);
+        assertFalse(grid.tryBlock(0, 0, 20, 20));
+        assertEquals(4, grid.getFreeCells());
+    }
+}
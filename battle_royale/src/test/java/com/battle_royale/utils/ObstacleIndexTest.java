@@ -0,0 +1,70 @@
+package com.battle_royale.utils;
+
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Vector2D;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObstacleIndexTest {
+    private static final double WIDTH = 1000;
+    private static final double HEIGHT = 700;
+
+    @Test
+    void collisionsMatchABruteForceScan() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (double cellSize : new double[]{16, 50, 128, 2000}) {
+            List<Obstacle> obstacles = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                // Some obstacles hang over the map edge, where the index clamps them onto the border cells.
+                obstacles.add(new Obstacle(new Vector2D(random.nextDouble(-40, WIDTH), random.nextDouble(-40, HEIGHT)),
+                        random.nextDouble(1, 150), random.nextDouble(1, 150)));
+            }
+            ObstacleIndex index = new ObstacleIndex(obstacles, WIDTH, HEIGHT, cellSize);
+            assertEquals(obstacles.size(), index.size());
+
+            int hits = 0;
+            for (int i = 0; i < 5000; i++) {
+                Vector2D point = new Vector2D(random.nextDouble(-60, WIDTH + 60), random.nextDouble(-60, HEIGHT + 60));
+                double width = random.nextDouble(0.5, 60);
+                double height = random.nextDouble(0.5, 60);
+                boolean expected = bruteForce(obstacles, point, width, height);
+                assertEquals(expected, index.collides(point.x, point.y, width, height),
+                        "cell size " + cellSize + ", box at " + point + " sized " + width + "x" + height);
+                if (expected) {
+                    hits++;
+                }
+            }
+            assertTrue(hits > 0 && hits < 5000, "the sample should contain both hits and misses");
+        }
+    }
+
+    @Test
+    void boxesThatOnlyTouchAnEdgeDoNotCollide() {
+        List<Obstacle> obstacles = List.of(new Obstacle(new Vector2D(100, 100), 64, 64));
+        ObstacleIndex index = new ObstacleIndex(obstacles, WIDTH, HEIGHT, 64);
+        assertFalse(index.collides(164, 100, 10, 10));
+        assertFalse(index.collides(90, 100, 10, 10));
+        assertFalse(index.collides(100, 164, 10, 10));
+        assertTrue(index.collides(163.5, 163.5, 10, 10));
+    }
+
+    @Test
+    void anEmptyIndexNeverCollides() {
+        ObstacleIndex index = new ObstacleIndex(List.of(), WIDTH, HEIGHT, 64);
+        assertFalse(index.collides(0, 0, WIDTH, HEIGHT));
+    }
+
+    private static boolean bruteForce(List<Obstacle> obstacles, Vector2D point, double width, double height) {
+        for (Obstacle obstacle : obstacles) {
+            if (obstacle.collidesWith(point, width, height)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
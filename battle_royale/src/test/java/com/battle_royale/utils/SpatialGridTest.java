@@ -0,0 +1,124 @@
+package com.battle_royale.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+    private static final double WIDTH = 1000;
+    private static final double HEIGHT = 700;
+    private static final double CELL_SIZE = 64;
+
+    @Test
+    void queriesMatchABruteForceScanThroughInsertsMovesAndRemoves() {
+        SplittableRandom random = new SplittableRandom(5);
+        SpatialGrid<Integer> grid = new SpatialGrid<>(WIDTH, HEIGHT, CELL_SIZE);
+        Map<Integer, double[]> positions = new HashMap<>();
+        Map<Integer, Integer> handles = new HashMap<>();
+        List<Integer> out = new ArrayList<>();
+        int nextItem = 0;
+        for (int step = 0; step < 3000; step++) {
+            int action = random.nextInt(4);
+            if (action == 0 || positions.isEmpty()) {
+                // Positions run a little past the map to cover the clamped edge cells.
+                double[] position = randomPoint(random);
+                positions.put(nextItem, position);
+                handles.put(nextItem, grid.insert(nextItem, position[0], position[1]));
+                nextItem++;
+            } else if (action == 1) {
+                int item = any(random, positions);
+                grid.remove(handles.remove(item));
+                positions.remove(item);
+            } else {
+                int item = any(random, positions);
+                double[] position = randomPoint(random);
+                positions.put(item, position);
+                grid.move(handles.get(item), position[0], position[1]);
+            }
+            assertEquals(positions.size(), grid.size());
+
+            double[] corner = randomPoint(random);
+            double maxX = corner[0] + random.nextDouble(300);
+            double maxY = corner[1] + random.nextDouble(300);
+            grid.query(corner[0], corner[1], maxX, maxY, out);
+            Set<Integer> found = new HashSet<>(out);
+            assertEquals(out.size(), found.size(), "an item was reported twice");
+            assertEquals(bruteForce(positions, corner[0], corner[1], maxX, maxY), found, "step " + step);
+        }
+    }
+
+    @Test
+    void reportsEveryItemAnchoredInsideTheBox() {
+        SplittableRandom random = new SplittableRandom(9);
+        SpatialGrid<Integer> grid = new SpatialGrid<>(WIDTH, HEIGHT, CELL_SIZE);
+        List<double[]> positions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double[] position = randomPoint(random);
+            positions.add(position);
+            grid.insert(i, position[0], position[1]);
+        }
+        List<Integer> out = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            double[] corner = randomPoint(random);
+            double maxX = corner[0] + random.nextDouble(200);
+            double maxY = corner[1] + random.nextDouble(200);
+            grid.query(corner[0], corner[1], maxX, maxY, out);
+            for (int item = 0; item < positions.size(); item++) {
+                double[] position = positions.get(item);
+                if (position[0] >= corner[0] && position[0] <= maxX && position[1] >= corner[1] && position[1] <= maxY) {
+                    assertTrue(out.contains(item), "item " + item + " is inside the box but was not reported");
+                }
+            }
+        }
+    }
+
+    @Test
+    void clearEmptiesTheGrid() {
+        SpatialGrid<Integer> grid = new SpatialGrid<>(WIDTH, HEIGHT, CELL_SIZE);
+        for (int i = 0; i < 40; i++) {
+            grid.insert(i, i * 20, i * 15);
+        }
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertEquals(0, grid.query(0, 0, WIDTH, HEIGHT, new ArrayList<>()));
+    }
+
+    /**
+     * Every item whose anchor falls in a cell the box touches, with coordinates clamped onto the grid
+     * the way the grid files them.
+     */
+    private static Set<Integer> bruteForce(Map<Integer, double[]> positions, double minX, double minY,
+                                           double maxX, double maxY) {
+        Set<Integer> expected = new HashSet<>();
+        for (Map.Entry<Integer, double[]> entry : positions.entrySet()) {
+            int col = cell(entry.getValue()[0], WIDTH);
+            int row = cell(entry.getValue()[1], HEIGHT);
+            if (col >= cell(minX, WIDTH) && col <= cell(maxX, WIDTH) && row >= cell(minY, HEIGHT) && row <= cell(maxY, HEIGHT)) {
+                expected.add(entry.getKey());
+            }
+        }
+        return expected;
+    }
+
+    private static int cell(double coordinate, double extent) {
+        int last = (int) Math.ceil(extent / CELL_SIZE) - 1;
+        return Math.max(0, Math.min(last, (int) Math.floor(coordinate / CELL_SIZE)));
+    }
+
+    private static double[] randomPoint(SplittableRandom random) {
+        return new double[]{random.nextDouble(-50, WIDTH + 50), random.nextDouble(-50, HEIGHT + 50)};
+    }
+
+    private static int any(SplittableRandom random, Map<Integer, double[]> positions) {
+        List<Integer> items = new ArrayList<>(positions.keySet());
+        return items.get(random.nextInt(items.size()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.battle_royale.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscRingTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertEquals(1, new SpscRing<Integer>(1).capacity());
+        assertEquals(2, new SpscRing<Integer>(2).capacity());
+        assertEquals(4, new SpscRing<Integer>(3).capacity());
+        assertEquals(64, new SpscRing<Integer>(64).capacity());
+        assertEquals(128, new SpscRing<Integer>(65).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SpscRing<Integer>(0));
+    }
+
+    @Test
+    void pollsInOfferOrderAndRefusesWhenFull() {
+        SpscRing<Integer> ring = new SpscRing<>(4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer(round * 10 + i));
+            }
+            assertFalse(ring.offer(-1));
+            assertEquals(4, ring.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(round * 10 + i, ring.poll());
+            }
+            assertNull(ring.poll());
+            assertEquals(0, ring.size());
+        }
+    }
+
+    @Test
+    void consumerThreadSeesEveryItemInOrder() throws InterruptedException {
+        SpscRing<Integer> ring = new SpscRing<>(16);
+        int count = 2_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!ring.offer(i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+        producer.start();
+        for (int expected = 0; expected < count; ) {
+            Integer item = ring.poll();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertEquals(expected++, item);
+        }
+        producer.join();
+        assertNull(ring.poll());
+    }
+}
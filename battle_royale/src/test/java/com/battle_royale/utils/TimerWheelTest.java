@@ -0,0 +1,121 @@
+package com.battle_royale.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void firesOnTheDueTick() {
+        TimerWheel wheel = new TimerWheel(8);
+        List<Integer> fired = new ArrayList<>();
+        wheel.schedule(3, 42);
+
+        wheel.advanceTo(2, fired::add);
+        assertEquals(List.of(), fired);
+        wheel.advanceTo(3, fired::add);
+        assertEquals(List.of(42), fired);
+        wheel.advanceTo(100, fired::add);
+        assertEquals(List.of(42), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void delaysLongerThanTheWheelWaitForTheirTurn() {
+        TimerWheel wheel = new TimerWheel(8);
+        Map<Integer, Long> firedAt = new HashMap<>();
+        for (int delay = 1; delay <= 40; delay++) {
+            wheel.schedule(delay, delay);
+        }
+        for (long tick = 1; tick <= 50; tick++) {
+            long now = tick;
+            wheel.advanceTo(tick, payload -> assertNull(firedAt.put(payload, now), payload + " fired twice"));
+        }
+        assertEquals(40, firedAt.size());
+        for (int delay = 1; delay <= 40; delay++) {
+            assertEquals(delay, firedAt.get(delay));
+        }
+    }
+
+    @Test
+    void jumpingSeveralTurnsAheadFiresEverythingOnce() {
+        TimerWheel wheel = new TimerWheel(4);
+        List<Integer> fired = new ArrayList<>();
+        for (int delay = 1; delay <= 30; delay++) {
+            wheel.schedule(delay, delay);
+        }
+        wheel.advanceTo(17, fired::add);
+        assertEquals(17, fired.size());
+        wheel.advanceTo(1000, fired::add);
+        assertEquals(30, fired.size());
+        assertEquals(30, fired.stream().distinct().count());
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        TimerWheel wheel = new TimerWheel(8);
+        List<Integer> fired = new ArrayList<>();
+        int first = wheel.schedule(5, 1);
+        wheel.schedule(5, 2);
+        int third = wheel.schedule(13, 3);
+        wheel.cancel(first);
+        wheel.cancel(third);
+        assertEquals(1, wheel.size());
+
+        wheel.advanceTo(20, fired::add);
+        assertEquals(List.of(2), fired);
+    }
+
+    @Test
+    void callbacksMayScheduleMoreTimers() {
+        TimerWheel wheel = new TimerWheel(4);
+        List<Long> fired = new ArrayList<>();
+        wheel.schedule(3, 0);
+        for (long tick = 1; tick <= 30; tick++) {
+            wheel.advanceTo(tick, payload -> {
+                fired.add(wheel.getCurrentTick());
+                if (payload < 4) {
+                    wheel.schedule(5, payload + 1);
+                }
+            });
+        }
+        assertEquals(List.of(3L, 8L, 13L, 18L, 23L), fired);
+    }
+
+    @Test
+    void randomSchedulesAndCancelsFireEachLiveTimerExactlyOnceOnTime() {
+        SplittableRandom random = new SplittableRandom(3);
+        TimerWheel wheel = new TimerWheel(16);
+        Map<Integer, Long> due = new HashMap<>();
+        Map<Integer, Integer> handles = new HashMap<>();
+        int nextPayload = 0;
+        for (long tick = 1; tick <= 5000; tick++) {
+            for (int i = random.nextInt(4); i > 0; i--) {
+                int delay = 1 + random.nextInt(60);
+                int payload = nextPayload++;
+                handles.put(payload, wheel.schedule(delay, payload));
+                due.put(payload, wheel.getCurrentTick() + delay);
+            }
+            if (!handles.isEmpty() && random.nextInt(3) == 0) {
+                int payload = handles.keySet().iterator().next();
+                wheel.cancel(handles.remove(payload));
+                due.remove(payload);
+            }
+            long now = tick;
+            wheel.advanceTo(tick, payload -> {
+                assertEquals(now, due.remove(payload), "timer " + payload + " fired off its due tick");
+                handles.remove(payload);
+            });
+            assertEquals(due.size(), wheel.size());
+        }
+        wheel.advanceTo(Long.MAX_VALUE / 2, due::remove);
+        assertTrue(due.isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.GameMap;
+import com.battle_royale.game.GameState;
+import com.battle_royale.model.Player;
+import com.battle_royale.utils.Constants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick with a steady population. Players keep walking and turning, {@code shooterPercent}
+ * of them keep tapping the fire button, and players are healed before they would die so the workload does
+ * not shrink during a run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStateBenchmark {
+    private static final int TURN_INTERVAL_TICKS = 30;
+
+    @Param({"16", "100", "400"})
+    int players;
+
+    @Param({"0", "25"})
+    int shooterPercent;
+
+    @Param({"30"})
+    int obstacles;
+
+    private GameState state;
+    private Player[] roster;
+    private Player.Input[] inputs;
+    private Random random;
+    private int shooters;
+    private int nextTurn = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(Worlds.SEED);
+        state = new GameState(GameMap.generate(Worlds.SEED, obstacles));
+        roster = Worlds.populate(state, players, random);
+        inputs = new Player.Input[players + 1];
+        shooters = players * shooterPercent / 100;
+        for (int id = 1; id <= players; id++) {
+            inputs[id] = Worlds.randomInput(random);
+            inputs[id].shooting = id <= shooters;
+            state.updatePlayerInput(id, inputs[id]);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        state.update();
+
+        for (int i = 0; i < Math.max(1, players / TURN_INTERVAL_TICKS); i++) {
+            Worlds.turn(inputs[nextTurn], random.nextInt(4));
+            nextTurn = nextTurn % players + 1;
+        }
+        // A shot needs a fresh press, so shooters release and press again on alternate ticks.
+        for (int id = 1; id <= shooters; id++) {
+            inputs[id].shooting = !inputs[id].shooting;
+        }
+        for (int id = 1; id <= players; id++) {
+            Player player = roster[id];
+            if (player.getHealth() <= Constants.PLAYER_MAX_HEALTH / 2) {
+                player.damage(player.getHealth() - Constants.PLAYER_MAX_HEALTH);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.GameMap;
+import com.battle_royale.game.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a fresh GameState, which is almost entirely obstacle placement in MapGenerator. Each call
+ * uses the next seed, so every run measures the same sequence of maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapGenerationBenchmark {
+    @Param({"10", "30"})
+    int obstacles;
+
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seed = Worlds.SEED;
+    }
+
+    @Benchmark
+    public GameState generate() {
+        return new GameState(GameMap.generate(seed++, obstacles));
+    }
+}
@@ -0,0 +1,49 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.MapGenerator;
+import com.battle_royale.model.Obstacle;
+import com.battle_royale.model.Vector2D;
+import com.battle_royale.utils.Constants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Obstacle placement on maps {@code mapScale} times wider and taller than the arena, with the obstacle
+ * count growing with the area.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapScaleBenchmark {
+    private static final int OBSTACLES_PER_ARENA = 30;
+    private static final double MIN_DISTANCE = 120;
+
+    @Param({"1", "4", "16"})
+    int mapScale;
+
+    private double width;
+    private double height;
+    private List<Vector2D> spawnPoints;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        width = Constants.GAME_WIDTH * mapScale;
+        height = Constants.GAME_HEIGHT * mapScale;
+        spawnPoints = List.of(new Vector2D(100, 100), new Vector2D(width - 100, 100),
+                new Vector2D(100, height - 100), new Vector2D(width - 100, height - 100));
+        random = new SplittableRandom(Worlds.SEED);
+    }
+
+    @Benchmark
+    public List<Obstacle> generate() {
+        return new MapGenerator(width, height, spawnPoints, random)
+                .generate(OBSTACLES_PER_ARENA * mapScale * mapScale, MIN_DISTANCE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.GameState;
+import com.battle_royale.model.Player;
+import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.SpatialGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player.update for every player on a shared grid, reported per player move. Obstacles are left
+ * out so this isolates movement and player-player collision resolution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerBenchmark {
+    private static final int TURN_INTERVAL_TICKS = 30;
+
+    @Param({"16", "100", "400"})
+    int players;
+
+    private Player[] roster;
+    private Player.Input[] inputs;
+    private Random random;
+    private int ticks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(Worlds.SEED);
+        SpatialGrid<Player> grid = new SpatialGrid<>(Constants.GAME_WIDTH, Constants.GAME_HEIGHT, GameState.PLAYER_GRID_CELL_SIZE);
+        roster = new Player[players];
+        inputs = new Player.Input[players];
+        for (int i = 0; i < players; i++) {
+            roster[i] = new Player(i + 1, grid);
+            Worlds.scatter(roster[i], null, random);
+            roster[i].attachToGrid();
+            inputs[i] = Worlds.randomInput(random);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(400)
+    public void updateAll() {
+        // Keep every invocation at 400 moves so scores are comparable across player counts.
+        for (int i = 0; i < 400; i++) {
+            int index = i % players;
+            roster[index].update(inputs[index]);
+        }
+        if (++ticks % TURN_INTERVAL_TICKS == 0) {
+            for (Player.Input input : inputs) {
+                Worlds.turn(input, random.nextInt(4));
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.GameMap;
+import com.battle_royale.game.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Joining a match that already has {@code players} players, which is dominated by the spawn point
+ * search, paired with the matching removal so the population stays fixed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpawnBenchmark {
+    @Param({"16", "100", "400"})
+    int players;
+
+    private GameState state;
+    private int joiningId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        state = new GameState(GameMap.generate(Worlds.SEED));
+        Worlds.populate(state, players, new Random(Worlds.SEED));
+        joiningId = players + 1;
+    }
+
+    @Benchmark
+    public void addAndRemovePlayer() {
+        state.addPlayer(joiningId);
+        state.removePlayer(joiningId);
+    }
+}
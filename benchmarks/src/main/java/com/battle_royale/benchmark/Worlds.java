@@ -0,0 +1,57 @@
+package com.battle_royale.benchmark;
+
+import com.battle_royale.game.GameState;
+import com.battle_royale.model.Player;
+import com.battle_royale.utils.Constants;
+import com.battle_royale.utils.ObstacleIndex;
+
+import java.util.Random;
+
+/**
+ * Shared setup for the simulation benchmarks. Everything is seeded so runs with the same
+ * parameters start from comparable worlds.
+ */
+final class Worlds {
+    static final long SEED = 42;
+
+    private Worlds() {
+    }
+
+    /**
+     * Adds {@code count} players with ids 1..count and moves them to random free spots, since the
+     * spawn points alone would pile every player into eight clusters.
+     */
+    static Player[] populate(GameState state, int count, Random random) {
+        for (int id = 1; id <= count; id++) {
+            state.addPlayer(id);
+        }
+        Player[] players = new Player[count + 1];
+        for (Player player : state.getPlayers().values()) {
+            scatter(player, state.getObstacleIndex(), random);
+            players[player.getId()] = player;
+        }
+        return players;
+    }
+
+    static void scatter(Player player, ObstacleIndex obstacles, Random random) {
+        double x, y;
+        do {
+            x = random.nextDouble() * (Constants.GAME_WIDTH - Constants.PLAYER_SIZE);
+            y = random.nextDouble() * (Constants.GAME_HEIGHT - Constants.PLAYER_SIZE);
+        } while (obstacles != null && obstacles.collides(x, y, Constants.PLAYER_SIZE, Constants.PLAYER_SIZE));
+        player.setPosition(x, y);
+    }
+
+    static Player.Input randomInput(Random random) {
+        Player.Input input = new Player.Input();
+        turn(input, random.nextInt(4));
+        return input;
+    }
+
+    static void turn(Player.Input input, int direction) {
+        input.up = direction == 0;
+        input.down = direction == 1;
+        input.left = direction == 2;
+        input.right = direction == 3;
+    }
+}